@@ -0,0 +1,105 @@
+package com.TeamOne411.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Configures the executor used by the @Async("threadPoolTaskExecutor") background tasks.
+ * The pool sizes and queue are bounded and configurable. When the pool and queue are both full the submitting
+ * thread runs the task itself, which slows the caller down instead of queueing work without limit.
+ * Pool and queue metrics are published to the Micrometer registry under the "threadPoolTaskExecutor" name.
+ * <p>
+ * With garageguide.virtual-threads.enabled=true and a Java 21+ runtime, background tasks and web requests run on
+ * virtual threads instead, so blocking JDBC/HTTP work no longer needs the pool to be sized for it.
+ */
+@Configuration
+public class AsyncConfiguration {
+    private static final Logger LOGGER = Logger.getLogger(AsyncConfiguration.class.getName());
+    public static final String EXECUTOR_NAME = "threadPoolTaskExecutor";
+    public static final String THREAD_NAME_PREFIX = "Async-";
+
+    @Value("${garageguide.async.core-pool-size:8}")
+    private int corePoolSize;
+
+    @Value("${garageguide.async.max-pool-size:32}")
+    private int maxPoolSize;
+
+    @Value("${garageguide.async.queue-capacity:500}")
+    private int queueCapacity;
+
+    @Value("${garageguide.async.keep-alive-seconds:60}")
+    private int keepAliveSeconds;
+
+    @Value("${garageguide.virtual-threads.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Bean(EXECUTOR_NAME)
+    public TaskExecutor getAsyncExecutor(MeterRegistry meterRegistry) {
+        if (useVirtualThreads()) {
+            // one virtual thread per task - no pool size or queue to tune, task timings are still recorded
+            ExecutorService executorService = ExecutorServiceMetrics.monitor(meterRegistry,
+                    VirtualThreads.newThreadPerTaskExecutor(THREAD_NAME_PREFIX), EXECUTOR_NAME);
+            return new TaskExecutorAdapter(executorService);
+        }
+
+        Counter rejections = meterRegistry.counter("garageguide.async.rejected", "executor", EXECUTOR_NAME);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setRejectedExecutionHandler((task, threadPoolExecutor) -> {
+            rejections.increment();
+            new ThreadPoolExecutor.CallerRunsPolicy().rejectedExecution(task, threadPoolExecutor);
+        });
+        executor.initialize();
+
+        // active threads, pool size, queue depth and completed task counts
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), EXECUTOR_NAME, Tags.empty())
+                .bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Runs web request handling on virtual threads when they are enabled
+     */
+    @Bean
+    @ConditionalOnProperty(name = "garageguide.virtual-threads.enabled", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadRequestExecutor() {
+        return protocolHandler -> {
+            if (useVirtualThreads() && protocolHandler instanceof AbstractProtocol) {
+                ((AbstractProtocol<?>) protocolHandler).setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-"));
+            }
+        };
+    }
+
+    private boolean useVirtualThreads() {
+        if (virtualThreadsEnabled && !VirtualThreads.isSupported()) {
+            LOGGER.log(Level.WARNING,
+                    "garageguide.virtual-threads.enabled is set but this JVM has no virtual threads (Java 21+ " +
+                            "required), using the thread pool instead.");
+            return false;
+        }
+        return virtualThreadsEnabled;
+    }
+}
@@ -0,0 +1,45 @@
+package com.TeamOne411.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records per task type metrics for the @Async background tasks, tagged with the method name
+ * (generateTimeSlots, initializeDefaultServices, initializeBusinessHours ...).
+ * - garageguide.async.task: how long each task took to run
+ * - garageguide.async.task.caller.runs: tasks the executor rejected, which then ran on the submitting thread
+ */
+@Aspect
+@Component
+public class AsyncTaskMetricsAspect {
+    private final MeterRegistry meterRegistry;
+
+    public AsyncTaskMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Async)")
+    public Object recordTask(ProceedingJoinPoint joinPoint) throws Throwable {
+        String task = joinPoint.getSignature().getName();
+
+        // the async interceptor always runs first, so a task that isn't on a pool thread was rejected by the pool
+        if (!Thread.currentThread().getName().startsWith(AsyncConfiguration.THREAD_NAME_PREFIX)) {
+            meterRegistry.counter("garageguide.async.task.caller.runs", "task", task).increment();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = "error";
+            throw t;
+        } finally {
+            sample.stop(meterRegistry.timer("garageguide.async.task", "task", task, "outcome", outcome));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.TeamOne411.backend.entity.users.Privilege;
 import com.TeamOne411.backend.entity.users.Role;
 import com.TeamOne411.backend.entity.users.User;
 import com.TeamOne411.backend.repository.*;
+import com.TeamOne411.backend.service.RoleRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -11,9 +12,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
 @Component
 public class SetupDataLoader implements
@@ -33,33 +32,47 @@ public class SetupDataLoader implements
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private RoleRegistry roleRegistry;
+
     @Override
     @Transactional
     public void onApplicationEvent(ContextRefreshedEvent event) {
         if (alreadySetup)
             return;
 
+        // read the existing privileges and roles once, then only create the missing ones
+        Map<String, Privilege> existingPrivileges = new HashMap<>();
+        for (Privilege privilege : privilegeRepository.findAll()) {
+            existingPrivileges.put(privilege.getName(), privilege);
+        }
+        Map<String, Role> existingRoles = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            existingRoles.put(role.getName(), role);
+        }
+
         Privilege readPrivilege
-                = createPrivilegeIfNotFound("READ_PRIVILEGE");
+                = createPrivilegeIfNotFound("READ_PRIVILEGE", existingPrivileges);
         Privilege writePrivilege
-                = createPrivilegeIfNotFound("WRITE_PRIVILEGE");
+                = createPrivilegeIfNotFound("WRITE_PRIVILEGE", existingPrivileges);
 
         List<Privilege> adminPrivileges = Arrays.asList(
                 readPrivilege, writePrivilege);
-        createRoleIfNotFound("ROLE_GG_ADMIN", adminPrivileges);
-        createRoleIfNotFound("ROLE_CAR_OWNER", Arrays.asList(readPrivilege));
-        createRoleIfNotFound("ROLE_GARAGE_EMPLOYEE", Arrays.asList(readPrivilege));
-        createRoleIfNotFound("ROLE_GARAGE_ADMIN", Arrays.asList(readPrivilege));
+        Role adminRole = createRoleIfNotFound(RoleRegistry.ROLE_GG_ADMIN, adminPrivileges, existingRoles);
+        createRoleIfNotFound(RoleRegistry.ROLE_CAR_OWNER, Arrays.asList(readPrivilege), existingRoles);
+        createRoleIfNotFound(RoleRegistry.ROLE_GARAGE_EMPLOYEE, Arrays.asList(readPrivilege), existingRoles);
+        createRoleIfNotFound(RoleRegistry.ROLE_GARAGE_ADMIN, Arrays.asList(readPrivilege), existingRoles);
+
+        createTestUserIfNotFound(adminRole);
 
-        createTestUserIfNotFound();
+        roleRegistry.reload();
 
         alreadySetup = true;
     }
 
-    private void createTestUserIfNotFound() {
+    private void createTestUserIfNotFound(Role adminRole) {
         if (userRepository.findByUsername("test") != null) return;
 
-        Role adminRole = roleRepository.findByName("ROLE_GG_ADMIN");
         User user = new User();
         user.setUsername("test");
         user.setFirstName("Test");
@@ -72,9 +85,9 @@ public class SetupDataLoader implements
     }
 
     @Transactional
-    Privilege createPrivilegeIfNotFound(String name) {
+    Privilege createPrivilegeIfNotFound(String name, Map<String, Privilege> existingPrivileges) {
 
-        Privilege privilege = privilegeRepository.findByName(name);
+        Privilege privilege = existingPrivileges.get(name);
         if (privilege == null) {
             privilege = new Privilege(name);
             privilegeRepository.save(privilege);
@@ -84,9 +97,9 @@ public class SetupDataLoader implements
 
     @Transactional
     Role createRoleIfNotFound(
-            String name, Collection<Privilege> privileges) {
+            String name, Collection<Privilege> privileges, Map<String, Role> existingRoles) {
 
-        Role role = roleRepository.findByName(name);
+        Role role = existingRoles.get(name);
         if (role == null) {
             role = new Role(name);
             role.setPrivileges(privileges);
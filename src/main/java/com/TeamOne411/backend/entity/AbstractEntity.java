@@ -4,11 +4,14 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.SequenceGenerator;
 
 @MappedSuperclass
 public abstract class AbstractEntity {
+    // ids are handed out in blocks so batched inserts don't need a sequence round trip per row
     @Id
-    @GeneratedValue(strategy= GenerationType.SEQUENCE)
+    @GeneratedValue(strategy= GenerationType.SEQUENCE, generator = "gg_sequence")
+    @SequenceGenerator(name = "gg_sequence", sequenceName = "hibernate_sequence", allocationSize = 50)
     private Long id;
 
     public Long getId() {
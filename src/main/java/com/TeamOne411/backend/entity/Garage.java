@@ -3,7 +3,6 @@ package com.TeamOne411.backend.entity;
 import com.TeamOne411.backend.entity.users.GarageEmployee;
 
 import javax.persistence.Entity;
-import javax.persistence.FetchType;
 import javax.persistence.OneToMany;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -30,7 +29,8 @@ public class Garage extends AbstractEntity {
 //  TODO: We'll probably want these at some point, but right now it'll break Garage creation
 //    @NotNull
 //    @NotEmpty
-    @OneToMany(mappedBy = "garage", fetch = FetchType.EAGER)
+    // lazy so loading a garage does not load its employees; list them with GarageEmployeeService instead
+    @OneToMany(mappedBy = "garage")
     private List<GarageEmployee> employees = new LinkedList<>();
 
     public String getCompanyName() {
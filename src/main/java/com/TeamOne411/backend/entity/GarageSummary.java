@@ -0,0 +1,64 @@
+package com.TeamOne411.backend.entity;
+
+import java.util.Objects;
+
+/**
+ * Read-only view of a Garage with just the columns shown in pickers and grids.
+ * It is selected straight into this class by the repositories, so listing garages does not load the Garage
+ * entities or anything associated with them.
+ */
+public class GarageSummary {
+    private final Long id;
+    private final String companyName;
+    private final String address;
+    private final String phoneNumber;
+
+    public GarageSummary(Long id, String companyName, String address, String phoneNumber) {
+        this.id = id;
+        this.companyName = companyName;
+        this.address = address;
+        this.phoneNumber = phoneNumber;
+    }
+
+    /**
+     * @param garage a loaded garage
+     * @return the summary of the garage, or null if the garage is null
+     */
+    public static GarageSummary of(Garage garage) {
+        if (garage == null) return null;
+        return new GarageSummary(garage.getId(), garage.getCompanyName(), garage.getAddress(), garage.getPhoneNumber());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof GarageSummary)) {
+            return false;
+        }
+        GarageSummary other = (GarageSummary) obj;
+        return id != null && id.equals(other.id);
+    }
+}
@@ -15,6 +15,12 @@ import java.time.LocalTime;
  * This entity defines an appointment that has been scheduled with a garage
  */
 @Entity
+@Table(indexes = {
+        // garage dashboard lists: by garage and date, ordered by time
+        @Index(name = "idx_appointment_garage_date_time", columnList = "garage_id, appointment_date, appointment_time"),
+        // car owner dashboard lists: by vehicle and date
+        @Index(name = "idx_appointment_vehicle_date", columnList = "vehicle_id, appointment_date")
+})
 public class Appointment extends AbstractEntity {
     @NotNull
     @ManyToOne
@@ -7,6 +7,8 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import java.time.Duration;
 import java.time.LocalTime;
@@ -15,6 +17,8 @@ import java.time.LocalTime;
 This entity defines the opening and closing times for the business for a particular day of the week
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_business_hours_garage_day",
+        columnNames = {"garage_id", "day_number"}))
 public class BusinessHours extends AbstractEntity {
     @NotNull
     private String dayOfTheWeek;
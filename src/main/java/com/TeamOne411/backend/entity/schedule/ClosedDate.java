@@ -7,6 +7,8 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import java.time.LocalDate;
 
@@ -14,6 +16,8 @@ import java.time.LocalDate;
  This entity defines a date that the Garage is closed outside of their weekly days closed - such as Holidays.
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_closed_date_garage_date",
+        columnNames = {"garage_id", "not_open_date"}))
 public class ClosedDate extends AbstractEntity {
     @NotNull
     @ManyToOne
@@ -0,0 +1,192 @@
+package com.TeamOne411.backend.entity.schedule;
+
+import com.TeamOne411.backend.entity.AbstractEntity;
+import com.TeamOne411.backend.entity.Garage;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ This entity holds the appointment time slots for a Garage on a single day. Each 30 minute slot from the first slot
+ time is one bit of a mask, so a whole day of slots is stored in one row instead of one row per slot.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_day_availability_garage_date",
+        columnNames = {"garage_id", "availability_date"}),
+        indexes = @Index(name = "idx_day_availability_date", columnList = "availability_date"))
+public class DayAvailability extends AbstractEntity {
+    public static final int SLOT_MINUTES = 30;
+    public static final int MAX_SLOTS = 48;
+
+    @NotNull
+    @ManyToOne
+    @JoinColumn(name = "garage_id")
+    private Garage garage;
+
+    @NotNull
+    @Column(name = "availability_date", columnDefinition = "DATE")
+    private LocalDate availabilityDate;
+
+    @NotNull
+    @Column(name = "first_slot_time", columnDefinition = "TIME")
+    private LocalTime firstSlotTime;
+
+    // bit i set = the slot starting at firstSlotTime + i * 30 minutes exists
+    @NotNull
+    private long openSlots;
+
+    // bit i set = the slot starting at firstSlotTime + i * 30 minutes is filled by an appointment
+    @NotNull
+    private long filledSlots;
+
+    public Garage getGarage() {
+        return garage;
+    }
+
+    public void setGarage(Garage garage) {
+        this.garage = garage;
+    }
+
+    public LocalDate getAvailabilityDate() {
+        return availabilityDate;
+    }
+
+    public void setAvailabilityDate(LocalDate availabilityDate) {
+        this.availabilityDate = availabilityDate;
+    }
+
+    public LocalTime getFirstSlotTime() {
+        return firstSlotTime;
+    }
+
+    public void setFirstSlotTime(LocalTime firstSlotTime) {
+        this.firstSlotTime = firstSlotTime;
+    }
+
+    public long getOpenSlots() {
+        return openSlots;
+    }
+
+    public void setOpenSlots(long openSlots) {
+        this.openSlots = openSlots;
+    }
+
+    public long getFilledSlots() {
+        return filledSlots;
+    }
+
+    public void setFilledSlots(long filledSlots) {
+        this.filledSlots = filledSlots;
+    }
+
+    /**
+     * @return mask of the slots that exist and are not filled
+     */
+    public long getFreeSlots() {
+        return openSlots & ~filledSlots;
+    }
+
+    /**
+     * Returns the bit index of the slot starting at a given time
+     *
+     * @param time the slot start time
+     * @return the slot index, or -1 if no slot of this day starts at that time
+     */
+    public int getSlotIndex(LocalTime time) {
+        long minutes = Duration.between(firstSlotTime, time).toMinutes();
+        if (minutes < 0 || minutes % SLOT_MINUTES != 0 || minutes / SLOT_MINUTES >= MAX_SLOTS) return -1;
+        return (int) (minutes / SLOT_MINUTES);
+    }
+
+    /**
+     * @param index the slot index
+     * @return the start time of the slot at that index
+     */
+    public LocalTime getSlotTime(int index) {
+        return firstSlotTime.plusMinutes((long) index * SLOT_MINUTES);
+    }
+
+    /**
+     * Builds the mask of the slots an appointment would occupy
+     *
+     * @param startTime the appointment start time
+     * @param minutes   the appointment duration in minutes
+     * @return the mask of the slots, or 0 if the appointment does not line up with this day's slots
+     */
+    public long getSlotMask(LocalTime startTime, long minutes) {
+        int first = getSlotIndex(startTime);
+        int slotCount = Math.max(1, slotCount(minutes));
+        if (first < 0 || first + slotCount > MAX_SLOTS) return 0L;
+        return slotMask(first, slotCount);
+    }
+
+    /**
+     * Returns the start times an appointment fits at, in order. A start time is only returned when every slot the
+     * appointment would occupy from it is free, so booking it can not run into a filled slot.
+     *
+     * @param notBefore slots starting before this time are skipped
+     * @param minutes   the appointment duration in minutes
+     * @return list of start times with enough consecutive free slots
+     */
+    public List<LocalTime> getFreeStartTimes(LocalTime notBefore, long minutes) {
+        List<LocalTime> startTimes = new ArrayList<>();
+        long starts = fittingStartMask(getFreeSlots(), Math.max(1, slotCount(minutes)));
+        while (starts != 0) {
+            int index = Long.numberOfTrailingZeros(starts);
+            LocalTime time = getSlotTime(index);
+            if (!time.isBefore(notBefore)) startTimes.add(time);
+            starts &= starts - 1;
+        }
+        return startTimes;
+    }
+
+    /**
+     * Finds where a run of consecutive free slots can start. Bit i of the result is set when slots i to
+     * i + slotCount - 1 are all in the free mask, found by and-ing the mask with itself shifted by one slot at a time.
+     *
+     * @param freeSlots the mask of free slots
+     * @param slotCount the number of consecutive slots needed
+     * @return the mask of the slots a run of that length can start at
+     */
+    public static long fittingStartMask(long freeSlots, int slotCount) {
+        long starts = freeSlots;
+        for (int shift = 1; shift < slotCount && starts != 0; shift++) {
+            starts &= freeSlots >>> shift;
+        }
+        return starts;
+    }
+
+    /**
+     * Builds a mask of consecutive slots
+     *
+     * @param firstIndex the index of the first slot
+     * @param slotCount  the number of slots
+     * @return the mask with bits firstIndex to firstIndex + slotCount - 1 set
+     */
+    public static long slotMask(int firstIndex, int slotCount) {
+        if (slotCount <= 0) return 0L;
+        long bits = slotCount >= Long.SIZE ? -1L : (1L << slotCount) - 1;
+        return bits << firstIndex;
+    }
+
+    /**
+     * Returns the number of slots needed to cover a length of time
+     *
+     * @param minutes the length of time in minutes
+     * @return the number of slots, rounded up
+     */
+    public static int slotCount(long minutes) {
+        return (int) Math.min(MAX_SLOTS, (minutes + SLOT_MINUTES - 1) / SLOT_MINUTES);
+    }
+}
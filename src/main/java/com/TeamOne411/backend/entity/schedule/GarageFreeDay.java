@@ -0,0 +1,50 @@
+package com.TeamOne411.backend.entity.schedule;
+
+import com.TeamOne411.backend.entity.GarageSummary;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only view of a DayAvailability row with the summary of its garage, used by the earliest slot search.
+ * It is selected straight into this class by the DayAvailabilityRepository, so searching many garage-days does not
+ * load DayAvailability or Garage entities into the persistence context.
+ */
+public class GarageFreeDay {
+    private final GarageSummary garage;
+    private final LocalDate availabilityDate;
+    private final LocalTime firstSlotTime;
+    private final long openSlots;
+    private final long filledSlots;
+
+    public GarageFreeDay(Long garageId, String companyName, String address, String phoneNumber,
+                         LocalDate availabilityDate, LocalTime firstSlotTime, long openSlots, long filledSlots) {
+        this.garage = new GarageSummary(garageId, companyName, address, phoneNumber);
+        this.availabilityDate = availabilityDate;
+        this.firstSlotTime = firstSlotTime;
+        this.openSlots = openSlots;
+        this.filledSlots = filledSlots;
+    }
+
+    public GarageSummary getGarage() {
+        return garage;
+    }
+
+    public LocalDate getAvailabilityDate() {
+        return availabilityDate;
+    }
+
+    /**
+     * @return the mask of the slots that are open and not filled
+     */
+    public long getFreeSlots() {
+        return openSlots & ~filledSlots;
+    }
+
+    /**
+     * @return the start time of the slot at the index
+     */
+    public LocalTime getSlotTime(int index) {
+        return firstSlotTime.plusMinutes((long) index * DayAvailability.SLOT_MINUTES);
+    }
+}
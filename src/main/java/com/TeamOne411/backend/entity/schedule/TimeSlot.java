@@ -1,66 +0,0 @@
-package com.TeamOne411.backend.entity.schedule;
-
-import com.TeamOne411.backend.entity.AbstractEntity;
-import com.TeamOne411.backend.entity.Garage;
-
-import javax.persistence.Column;
-import javax.persistence.Entity;
-import javax.persistence.JoinColumn;
-import javax.persistence.ManyToOne;
-import javax.validation.constraints.NotNull;
-import java.time.LocalDate;
-import java.time.LocalTime;
-
-/**
- This entity is an appointment time slot for the Garage. It indicates if the slot is filled by an appointment or not
- */
-@Entity
-public class TimeSlot extends AbstractEntity {
-    @NotNull
-    @ManyToOne
-    @JoinColumn(name = "garage_id")
-    private Garage garage;
-
-    @NotNull
-    @Column(name = "start_date", columnDefinition = "DATE")
-    private LocalDate startDate;
-
-    @NotNull
-    @Column(name = "start_time", columnDefinition = "TIME")
-    private LocalTime startTime;
-
-    @NotNull
-    private Boolean isFilled = Boolean.FALSE;
-
-    public Garage getGarage() {
-        return garage;
-    }
-
-    public void setGarage(Garage garage) {
-        this.garage = garage;
-    }
-
-    public LocalDate getStartDate() {
-        return startDate;
-    }
-
-    public void setStartDate(LocalDate startDate) {
-        this.startDate = startDate;
-    }
-
-    public Boolean getFilled() {
-        return isFilled;
-    }
-
-    public void setFilled(Boolean filled) {
-        isFilled = filled;
-    }
-
-    public LocalTime getStartTime() {
-        return startTime;
-    }
-
-    public void setStartTime(LocalTime startTime) {
-        this.startTime = startTime;
-    }
-}
\ No newline at end of file
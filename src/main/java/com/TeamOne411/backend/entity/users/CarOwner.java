@@ -10,6 +10,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_car_owner_phone_number", columnList = "phone_number"))
 public class CarOwner extends User {
     @NotNull
     @NotEmpty(message = "Phone number can't be empty.")
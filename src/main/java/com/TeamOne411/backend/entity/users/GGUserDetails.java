@@ -1,39 +1,50 @@
 package com.TeamOne411.backend.entity.users;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
 
+/**
+ * The principal of a logged in user. It keeps the user's id and login fields rather than the User entity, so the
+ * session never holds a detached entity; the UserDetailsService loads the User by id when a view needs it.
+ * The version is the user's change count when the principal was built, see UserChangeTracker.
+ */
 public class GGUserDetails implements UserDetails {
-    private User user;
+    private final Long userId;
+    private final String username;
+    private final String password;
+    private final boolean isEnabled;
+    private final Collection<? extends GrantedAuthority> authorities;
+    private final long version;
 
-    public GGUserDetails(User user) {
-        this.user = user;
+    /**
+     * @param user        the user
+     * @param authorities the user's granted authorities, usually the shared list from the RoleRegistry
+     * @param version     the user's change count the details were built at
+     */
+    public GGUserDetails(User user, Collection<? extends GrantedAuthority> authorities, long version) {
+        this.userId = user.getId();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.isEnabled = user.getIsEnabled();
+        this.authorities = authorities;
+        this.version = version;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<SimpleGrantedAuthority> authorities = new LinkedList<>();
-
-        for (Role role : user.getRoles()) {
-            authorities.add(new SimpleGrantedAuthority(role.getName()));
-        }
-
         return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -53,10 +64,14 @@ public class GGUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getIsEnabled();
+        return isEnabled;
+    }
+
+    public Long getUserId() {
+        return userId;
     }
 
-    public User getUser() {
-        return user;
+    public long getVersion() {
+        return version;
     }
 }
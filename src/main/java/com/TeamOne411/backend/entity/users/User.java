@@ -10,6 +10,11 @@ import javax.validation.constraints.NotNull;
 import java.util.Collection;
 
 @Entity
+@Table(indexes = {
+        // login and registration lookups
+        @Index(name = "idx_user_username", columnList = "username"),
+        @Index(name = "idx_user_email", columnList = "email")
+})
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name="discriminator")
 public class User extends AbstractEntity {
@@ -3,14 +3,36 @@ package com.TeamOne411.backend.repository;
 import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.schedule.Appointment;
 import com.TeamOne411.backend.entity.users.CarOwner;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * The appointment list queries fetch each appointment's vehicle, car owner and garage in the same select
+ * through an entity graph, since the dashboard grids show columns from all three.
+ */
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+    @EntityGraph(attributePaths = {"vehicle", "vehicle.carOwner", "garage"})
     List<Appointment> findAllByAppointmentDateGreaterThanAndVehicle_CarOwnerOrderByAppointmentDateAscAppointmentTimeAsc(LocalDate localDate, CarOwner carOwner);
+    @EntityGraph(attributePaths = {"vehicle", "vehicle.carOwner", "garage"})
     List<Appointment> findAllByAppointmentDateEqualsAndVehicle_CarOwnerOrderByAppointmentTime(LocalDate localDate, CarOwner carOwner);
+    @EntityGraph(attributePaths = {"vehicle", "vehicle.carOwner", "garage"})
     List<Appointment> findAllByGarageAndAppointmentDateGreaterThanOrderByAppointmentDateAscAppointmentTimeAsc(Garage garage, LocalDate localDate);
+    @EntityGraph(attributePaths = {"vehicle", "vehicle.carOwner", "garage"})
     List<Appointment> findAllByGarageAndAppointmentDateEqualsOrderByAppointmentTime(Garage garage, LocalDate localDate);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = {"vehicle", "vehicle.carOwner", "garage"})
+    List<Appointment> findAllByGarageAndAppointmentDateGreaterThanOrderByAppointmentDateAscAppointmentTimeAscIdAsc(Garage garage, LocalDate localDate, Pageable pageable);
+    long countByGarageAndAppointmentDateGreaterThan(Garage garage, LocalDate localDate);
+    @EntityGraph(attributePaths = {"vehicle", "vehicle.carOwner", "garage"})
+    List<Appointment> findAllByAppointmentDateGreaterThanEqualAndVehicle_CarOwnerOrderByAppointmentDateAscAppointmentTimeAsc(LocalDate localDate, CarOwner carOwner);
+
+    @Modifying
+    @Query("DELETE FROM Appointment WHERE id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
+}
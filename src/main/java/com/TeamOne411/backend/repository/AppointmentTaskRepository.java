@@ -4,6 +4,9 @@ import com.TeamOne411.backend.entity.Vehicle;
 import com.TeamOne411.backend.entity.schedule.Appointment;
 import com.TeamOne411.backend.entity.schedule.AppointmentTask;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -11,4 +14,8 @@ public interface AppointmentTaskRepository extends JpaRepository<AppointmentTask
     List<AppointmentTask> findAllByAppointment(Appointment appointment);
 
     List<AppointmentTask> findAllAppointmentTasksByAppointment_VehicleAndAppointment_StatusOrderByAppointmentAsc(Vehicle vehicle, String status);
+
+    @Modifying
+    @Query("DELETE FROM AppointmentTask WHERE appointment = :appointment")
+    int deleteAllByAppointmentInBulk(@Param("appointment") Appointment appointment);
 }
@@ -2,9 +2,19 @@ package com.TeamOne411.backend.repository;
 
 import com.TeamOne411.backend.entity.users.CarOwner;
 import com.TeamOne411.backend.entity.users.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.List;
+
 public interface CarOwnerRepository extends JpaRepository<CarOwner, Long> {
     public User findByPhoneNumber(String phone);
+    boolean existsByPhoneNumber(String phoneNumber);
+    List<CarOwner> findByUsernameContainingIgnoreCase(String username, Pageable pageable);
+    long countByUsernameContainingIgnoreCase(String username);
+
+    @Query("SELECT g.id FROM CarOwner c JOIN c.preferredGarages g WHERE c.id = :carOwnerId")
+    List<Long> findPreferredGarageIds(@Param("carOwnerId") Long carOwnerId);
 }
@@ -0,0 +1,81 @@
+package com.TeamOne411.backend.repository;
+
+import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.schedule.DayAvailability;
+import com.TeamOne411.backend.entity.schedule.GarageFreeDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface DayAvailabilityRepository extends JpaRepository<DayAvailability, Long> {
+    DayAvailability findByGarageAndAvailabilityDate(Garage garage, LocalDate localDate);
+
+    List<DayAvailability> findByGarageAndAvailabilityDateIn(Garage garage, Collection<LocalDate> localDates);
+
+    @Query("SELECT availabilityDate FROM DayAvailability WHERE garage = :garage and availabilityDate >= :start_date " +
+            "and openSlots <> filledSlots ORDER BY availabilityDate")
+    List<LocalDate> findAvailableDatesByGarageAndAvailabilityDateGreaterThanEqual(@Param("garage") Garage garage,
+                                                                                  @Param("start_date") LocalDate localDate);
+
+    /**
+     * Finds the days of all garages between two dates that still have free slots, with their garage summaries
+     */
+    @Query("SELECT new com.TeamOne411.backend.entity.schedule.GarageFreeDay(g.id, g.companyName, g.address, " +
+            "g.phoneNumber, d.availabilityDate, d.firstSlotTime, d.openSlots, d.filledSlots) " +
+            "FROM DayAvailability d JOIN d.garage g WHERE d.availabilityDate BETWEEN :from_date AND :to_date " +
+            "AND d.openSlots <> d.filledSlots")
+    List<GarageFreeDay> findFreeDaysBetween(@Param("from_date") LocalDate fromDate,
+                                            @Param("to_date") LocalDate toDate);
+
+    /**
+     * Finds the days of the given garages between two dates that still have free slots, with their garage summaries
+     */
+    @Query("SELECT new com.TeamOne411.backend.entity.schedule.GarageFreeDay(g.id, g.companyName, g.address, " +
+            "g.phoneNumber, d.availabilityDate, d.firstSlotTime, d.openSlots, d.filledSlots) " +
+            "FROM DayAvailability d JOIN d.garage g WHERE d.availabilityDate BETWEEN :from_date AND :to_date " +
+            "AND d.openSlots <> d.filledSlots AND g.id IN :garage_ids")
+    List<GarageFreeDay> findFreeDaysBetweenForGarages(@Param("from_date") LocalDate fromDate,
+                                                      @Param("to_date") LocalDate toDate,
+                                                      @Param("garage_ids") Collection<Long> garageIds);
+
+    /**
+     * Marks the slots in the mask as filled, but only if every one of them exists and is currently free.
+     * The check and the update happen in a single statement, so two bookings can never claim the same slot.
+     *
+     * @return 1 if the slots were claimed, 0 if any of them was unavailable
+     */
+    @Modifying
+    @Query(value = "UPDATE day_availability SET filled_slots = filled_slots | :mask " +
+            "WHERE garage_id = :garage_id AND availability_date = :availability_date " +
+            "AND (open_slots & :mask) = :mask AND (filled_slots & :mask) = 0", nativeQuery = true)
+    int fillSlotsIfFree(@Param("garage_id") Long garageId,
+                        @Param("availability_date") LocalDate localDate,
+                        @Param("mask") long mask);
+
+    /**
+     * Deletes up to maxRows days before a date, so past days can be purged in bounded chunks
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query(value = "DELETE FROM day_availability WHERE availability_date < :before_date LIMIT :max_rows",
+            nativeQuery = true)
+    int deleteDaysBefore(@Param("before_date") LocalDate beforeDate, @Param("max_rows") int maxRows);
+
+    /**
+     * Marks the slots in the mask as free again
+     *
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query(value = "UPDATE day_availability SET filled_slots = filled_slots & ~:mask " +
+            "WHERE garage_id = :garage_id AND availability_date = :availability_date", nativeQuery = true)
+    int freeSlots(@Param("garage_id") Long garageId,
+                  @Param("availability_date") LocalDate localDate,
+                  @Param("mask") long mask);
+}
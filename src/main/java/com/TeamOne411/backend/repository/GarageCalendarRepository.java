@@ -1,15 +1,22 @@
 package com.TeamOne411.backend.repository;
 
 import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
 import com.TeamOne411.backend.entity.schedule.GarageCalendar;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface GarageCalendarRepository extends JpaRepository<GarageCalendar, Long> {
     GarageCalendar findCalendarByGarage(Garage garage);
 
-    @Query("SELECT garage FROM GarageCalendar")
-    List<Garage> findAllByGarageExists();
+    @Query("SELECT c FROM GarageCalendar c JOIN FETCH c.garage WHERE c.calendarEndDate < :end_date")
+    List<GarageCalendar> findAllByCalendarEndDateBefore(@Param("end_date") LocalDate endDate);
+
+    @Query("SELECT new com.TeamOne411.backend.entity.GarageSummary(g.id, g.companyName, g.address, g.phoneNumber) " +
+            "FROM GarageCalendar c JOIN c.garage g ORDER BY g.companyName")
+    List<GarageSummary> findGarageSummariesByGarageExists();
 }
\ No newline at end of file
@@ -2,10 +2,13 @@ package com.TeamOne411.backend.repository;
 
 import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.users.GarageEmployee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface GarageEmployeeRepository extends JpaRepository<GarageEmployee, Long> {
     List<GarageEmployee> findByGarage(Garage garage);
+    List<GarageEmployee> findByUsernameContainingIgnoreCase(String username, Pageable pageable);
+    long countByUsernameContainingIgnoreCase(String username);
 }
@@ -1,7 +1,18 @@
 package com.TeamOne411.backend.repository;
 
 import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface GarageRepository extends JpaRepository<Garage, Long> {
+    List<Garage> findByCompanyNameContainingIgnoreCase(String companyName, Pageable pageable);
+    long countByCompanyNameContainingIgnoreCase(String companyName);
+
+    @Query("SELECT new com.TeamOne411.backend.entity.GarageSummary(g.id, g.companyName, g.address, g.phoneNumber) " +
+            "FROM Garage g ORDER BY g.companyName")
+    List<GarageSummary> findAllSummaries();
 }
@@ -3,6 +3,7 @@ package com.TeamOne411.backend.repository;
 import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.servicecatalog.OfferedService;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -10,4 +11,6 @@ import java.util.List;
 public interface OfferedServiceRepository extends JpaRepository<OfferedService, Long> {
     List<OfferedService> findByServiceCategory_GarageOrderByServiceCategory(Garage garage);
     List<OfferedService> findByServiceCategory(ServiceCategory serviceCategory);
+    List<OfferedService> findByServiceNameContainingIgnoreCase(String serviceName, Pageable pageable);
+    long countByServiceNameContainingIgnoreCase(String serviceName);
 }
\ No newline at end of file
@@ -2,10 +2,13 @@ package com.TeamOne411.backend.repository;
 
 import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface ServiceCategoryRepository extends JpaRepository<ServiceCategory, Long> {
     List<ServiceCategory> findCategoriesByGarage(Garage garage);
+    List<ServiceCategory> findByCategoryNameContainingIgnoreCase(String categoryName, Pageable pageable);
+    long countByCategoryNameContainingIgnoreCase(String categoryName);
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.TeamOne411.backend.repository;
 
 import com.TeamOne411.backend.entity.users.User;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
@@ -8,4 +9,33 @@ public interface UserRepository extends CrudRepository<User, Long> {
     public User findByUsername(@Param("username") String username);
 
     public User findByEmail(@Param("email") String email);
-}
\ No newline at end of file
+
+    boolean existsByUsername(String username);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Checks a username, email and car owner phone number for existing accounts in one round trip,
+     * without loading any user.
+     * @param phoneNumber the car owner phone number, or null to skip that check
+     * @return 1 in each field that is already in use, 0 otherwise
+     */
+    @Query(value = "SELECT EXISTS(SELECT 1 FROM user WHERE username = :username) AS usernameTaken, " +
+            "EXISTS(SELECT 1 FROM user WHERE email = :email) AS emailTaken, " +
+            "EXISTS(SELECT 1 FROM car_owner WHERE phone_number = :phoneNumber) AS phoneNumberTaken",
+            nativeQuery = true)
+    TakenAccountFields findTakenAccountFields(@Param("username") String username,
+                                              @Param("email") String email,
+                                              @Param("phoneNumber") String phoneNumber);
+
+    /**
+     * Projection of findTakenAccountFields
+     */
+    interface TakenAccountFields {
+        int getUsernameTaken();
+
+        int getEmailTaken();
+
+        int getPhoneNumberTaken();
+    }
+}
@@ -0,0 +1,52 @@
+package com.TeamOne411.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived, size-capped cache of "is this username / email / phone number taken" answers used by the
+ * UserDetailsService for the registration form validators, which check the same values again and again while a
+ * user types. registerNewUser does not use it and always asks the database.
+ */
+class AccountLookupCache {
+    static final int MAX_ENTRIES = 10000;
+    static final long TIME_TO_LIVE_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final Map<String, CachedAnswer> answers = new LinkedHashMap<String, CachedAnswer>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedAnswer> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * @param field the field checked, e.g. "email"
+     * @param value the value checked
+     * @return the cached answer, or null if there is none or it has expired
+     */
+    synchronized Boolean get(String field, String value) {
+        String key = field + ':' + value;
+        CachedAnswer answer = answers.get(key);
+        if (answer == null) return null;
+        if (System.currentTimeMillis() >= answer.expiresAt) {
+            answers.remove(key);
+            return null;
+        }
+        return answer.taken;
+    }
+
+    synchronized void put(String field, String value, boolean taken) {
+        answers.put(field + ':' + value, new CachedAnswer(taken, System.currentTimeMillis() + TIME_TO_LIVE_MILLIS));
+    }
+
+    private static class CachedAnswer {
+        private final boolean taken;
+        private final long expiresAt;
+
+        CachedAnswer(boolean taken, long expiresAt) {
+            this.taken = taken;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
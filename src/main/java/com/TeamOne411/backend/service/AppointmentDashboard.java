@@ -0,0 +1,69 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.schedule.Appointment;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Read model behind the garage and car owner appointment dashboards: today's appointments and the upcoming ones
+ * after today, with their counts, loaded by the AppointmentService in one call.
+ * The upcoming list may be left empty when the upcoming appointments are paged in separately, in which case only
+ * the upcoming count is filled in.
+ */
+public class AppointmentDashboard {
+    private final LocalDate today;
+    private final List<Appointment> todayAppointments;
+    private final List<Appointment> upcomingAppointments;
+    private final long upcomingCount;
+
+    AppointmentDashboard(LocalDate today, List<Appointment> todayAppointments,
+                         List<Appointment> upcomingAppointments, long upcomingCount) {
+        this.today = today;
+        this.todayAppointments = Collections.unmodifiableList(todayAppointments);
+        this.upcomingAppointments = Collections.unmodifiableList(upcomingAppointments);
+        this.upcomingCount = upcomingCount;
+    }
+
+    /**
+     * Splits a list of appointments ordered by date and time into today's and upcoming appointments
+     *
+     * @param today                 the date of today
+     * @param appointmentsFromToday the appointments on or after today, ordered by date and time
+     * @return the dashboard holding both lists
+     */
+    static AppointmentDashboard fromAppointments(LocalDate today, List<Appointment> appointmentsFromToday) {
+        List<Appointment> todayList = new ArrayList<>();
+        List<Appointment> upcomingList = new ArrayList<>();
+        for (Appointment appointment : appointmentsFromToday) {
+            if (appointment.getAppointmentDate().equals(today)) {
+                todayList.add(appointment);
+            } else {
+                upcomingList.add(appointment);
+            }
+        }
+        return new AppointmentDashboard(today, todayList, upcomingList, upcomingList.size());
+    }
+
+    public LocalDate getToday() {
+        return today;
+    }
+
+    public List<Appointment> getTodayAppointments() {
+        return todayAppointments;
+    }
+
+    public List<Appointment> getUpcomingAppointments() {
+        return upcomingAppointments;
+    }
+
+    public int getTodayCount() {
+        return todayAppointments.size();
+    }
+
+    public long getUpcomingCount() {
+        return upcomingCount;
+    }
+}
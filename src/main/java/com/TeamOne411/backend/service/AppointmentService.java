@@ -8,10 +8,15 @@ import com.TeamOne411.backend.entity.servicecatalog.OfferedService;
 import com.TeamOne411.backend.entity.users.CarOwner;
 import com.TeamOne411.backend.repository.AppointmentRepository;
 import com.TeamOne411.backend.repository.AppointmentTaskRepository;
-import org.springframework.scheduling.annotation.Async;
+import com.TeamOne411.backend.service.exceptions.TimeSlotUnavailableException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -23,10 +28,13 @@ public class AppointmentService {
 
     public final AppointmentTaskRepository appointmentTaskRepository;
     private final AppointmentRepository appointmentRepository;
+    private final GarageCalendarService garageCalendarService;
 
-    public AppointmentService(AppointmentRepository appointmentRepository, AppointmentTaskRepository appointmentTaskRepository) {
+    public AppointmentService(AppointmentRepository appointmentRepository, AppointmentTaskRepository appointmentTaskRepository,
+                              GarageCalendarService garageCalendarService) {
         this.appointmentRepository = appointmentRepository;
         this.appointmentTaskRepository = appointmentTaskRepository;
+        this.garageCalendarService = garageCalendarService;
     }
 
     public void saveAppointment(Appointment appointment) {
@@ -37,6 +45,88 @@ public class AppointmentService {
         appointmentRepository.delete(appointment);
     }
 
+    /**
+     * Cancels an appointment - deletes its tasks, frees its time slots and deletes the appointment,
+     * all in one transaction so the slots are never left filled by an appointment that no longer exists.
+     * Each step is a single bulk statement, so the cost does not grow with the number of services booked.
+     *
+     * @param appointment the appointment to cancel
+     */
+    @Transactional
+    public void cancelAppointment(Appointment appointment) {
+        appointmentTaskRepository.deleteAllByAppointmentInBulk(appointment);
+        garageCalendarService.releaseTimeSlots(appointment);
+        appointmentRepository.deleteByIdInBulk(appointment.getId());
+    }
+
+    /**
+     * Moves an appointment to a new date and time - frees the old time slots and reserves the new ones in one
+     * transaction. If the new slots are taken the old ones stay reserved and the appointment is unchanged.
+     *
+     * @param appointment the appointment to move
+     * @param newDate     the new appointment date
+     * @param newTime     the new appointment time
+     * @throws TimeSlotUnavailableException if any of the new time slots is not available
+     */
+    @Transactional(rollbackFor = TimeSlotUnavailableException.class)
+    public void rescheduleAppointment(Appointment appointment, LocalDate newDate, LocalTime newTime)
+            throws TimeSlotUnavailableException {
+        LocalDate oldDate = appointment.getAppointmentDate();
+        LocalTime oldTime = appointment.getAppointmentTime();
+
+        garageCalendarService.releaseTimeSlots(appointment);
+        appointment.setAppointmentDate(newDate);
+        appointment.setAppointmentTime(newTime);
+        try {
+            garageCalendarService.reserveTimeSlots(appointment);
+        } catch (TimeSlotUnavailableException e) {
+            appointment.setAppointmentDate(oldDate);
+            appointment.setAppointmentTime(oldTime);
+            throw e;
+        }
+        saveAppointment(appointment);
+    }
+
+    /**
+     * Loads today's appointments of a garage and counts all of its upcoming ones for its dashboard.
+     * A garage's book can be months long, so the upcoming appointments themselves are not loaded here but paged in
+     * with findUpcomingAppointmentsByGarage.
+     *
+     * @param garage the garage to search by
+     * @return the garage's dashboard appointments
+     */
+    public AppointmentDashboard getGarageDashboard(Garage garage) {
+        LocalDate today = LocalDate.now();
+        List<Appointment> todayAppointments =
+                appointmentRepository.findAllByGarageAndAppointmentDateEqualsOrderByAppointmentTime(garage, today);
+        long upcomingCount = appointmentRepository.countByGarageAndAppointmentDateGreaterThan(garage, today);
+        return new AppointmentDashboard(today, todayAppointments, Collections.<Appointment>emptyList(), upcomingCount);
+    }
+
+    /**
+     * Finds one page of a garage's appointments after today, ordered by date, time and id
+     *
+     * @param garage   the garage to search by
+     * @param pageable the rows to fetch
+     * @return List of appointments
+     */
+    public List<Appointment> findUpcomingAppointmentsByGarage(Garage garage, Pageable pageable) {
+        return appointmentRepository.findAllByGarageAndAppointmentDateGreaterThanOrderByAppointmentDateAscAppointmentTimeAscIdAsc(
+                garage, LocalDate.now(), pageable);
+    }
+
+    /**
+     * Loads today's and upcoming appointments of a car owner for their dashboard, with one query
+     *
+     * @param carOwner the car owner to search by
+     * @return the car owner's dashboard appointments
+     */
+    public AppointmentDashboard getCarOwnerDashboard(CarOwner carOwner) {
+        LocalDate today = LocalDate.now();
+        return AppointmentDashboard.fromAppointments(today, appointmentRepository
+                .findAllByAppointmentDateGreaterThanEqualAndVehicle_CarOwnerOrderByAppointmentDateAscAppointmentTimeAsc(today, carOwner));
+    }
+
     /**
      * Finds upcoming appointments for a garage
      *
@@ -94,15 +184,13 @@ public class AppointmentService {
     }
 
     /**
-     * Deletes all appointment tasks for a given appointment
+     * Deletes all appointment tasks for a given appointment with a single bulk delete statement
      *
      * @param appointment the appointment to search by
      */
+    @Transactional
     public void deleteAppointmentTasks(Appointment appointment) {
-        List<AppointmentTask> appointmentTasks = findAllAppointmentTasksByAppointment(appointment);
-        for (AppointmentTask appointmentTask : appointmentTasks) {
-            appointmentTaskRepository.delete(appointmentTask);
-        }
+        appointmentTaskRepository.deleteAllByAppointmentInBulk(appointment);
     }
 
     /**
@@ -116,22 +204,42 @@ public class AppointmentService {
     }
 
     /**
-     * Creates the appointment Tasks for an appointment
+     * Books an appointment - reserves its time slots, saves the appointment and creates an appointment task for
+     * each selected service, all in one transaction. The tasks are written as one batched insert, so the
+     * appointment is never visible without its tasks.
+     *
+     * @param appointment     the appointment to book
+     * @param offeredServices the offered services the tasks should be created based on
+     * @return the saved appointment
+     * @throws TimeSlotUnavailableException if any of the time slots is not available, nothing is saved
+     */
+    @Transactional(rollbackFor = TimeSlotUnavailableException.class)
+    public Appointment bookAppointment(Appointment appointment, Set<OfferedService> offeredServices)
+            throws TimeSlotUnavailableException {
+        garageCalendarService.reserveTimeSlots(appointment);
+        Appointment savedAppointment = appointmentRepository.save(appointment);
+        createAppointmentTasks(savedAppointment, offeredServices);
+        return savedAppointment;
+    }
+
+    /**
+     * Creates the appointment Tasks for an appointment with a single batched insert
      *
      * @param appointment     the appointment that the tasks are associated with
      * @param offeredServices the offered services the tasks should be created based on
+     * @return the created appointment tasks
      */
-    @Async("threadPoolTaskExecutor")
-    public void createAppointmentTasks(Appointment appointment, Set<OfferedService> offeredServices) {
-        System.out.println("Starting Appointment Task Creation");
+    @Transactional
+    public List<AppointmentTask> createAppointmentTasks(Appointment appointment, Set<OfferedService> offeredServices) {
+        List<AppointmentTask> appointmentTasks = new ArrayList<>();
         for (OfferedService os : offeredServices) {
             AppointmentTask appointmentTask = new AppointmentTask();
             appointmentTask.setPrice(os.getPrice());
             appointmentTask.setDuration(os.getDuration());
             appointmentTask.setAppointment(appointment);
             appointmentTask.setOfferedService(os);
-            saveAppointmentTask(appointmentTask);
+            appointmentTasks.add(appointmentTask);
         }
-        System.out.println("Appointment Task Creation Completed");
+        return appointmentTaskRepository.saveAll(appointmentTasks);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,273 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.schedule.DayAvailability;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-capped, least-recently-used cache of garage availability used by the GarageCalendarService.
+ * Holds the time slots of a garage-day keyed by garage id and date, and the list of bookable dates per garage.
+ * Entries are updated in place when slots are filled or freed and evicted when a garage's calendar changes.
+ * <p>
+ * The cache only hears about the changes made on this node, so every entry also expires a while after it was
+ * loaded. Each change to a garage moves the garage to a new generation; a load started before the change carries
+ * the older generation and is not stored, so a row read just before a cancellation committed cannot put the freed
+ * slots back as filled.
+ */
+class AvailabilityCache {
+    static final int MAX_DAYS = 20000;
+    static final int MAX_GARAGES = 1000;
+
+    // stands in for "this garage has no time slots on that date" so missing days are cached too
+    private static final DayAvailability NO_SLOTS = new DayAvailability();
+
+    private final long ttlNanos;
+
+    private final Map<DayKey, CachedDay> days = new LinkedHashMap<DayKey, CachedDay>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<DayKey, CachedDay> eldest) {
+            if (size() <= MAX_DAYS) return false;
+            unindexDay(eldest.getKey());
+            return true;
+        }
+    };
+
+    // the cached day keys of each garage, so a garage is evicted without scanning every cached day
+    private final Map<Long, Set<DayKey>> dayKeysByGarage = new HashMap<>();
+
+    // the generation of each garage changed since startup, entries are never removed so a generation never repeats
+    private final Map<Long, Long> generations = new HashMap<>();
+    private final AtomicLong lastGeneration = new AtomicLong();
+
+    private final Map<Long, AvailableDates> availableDates = new LinkedHashMap<Long, AvailableDates>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, AvailableDates> eldest) {
+            return size() > MAX_GARAGES;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param ttlSeconds how long an entry is used after it was loaded
+     */
+    AvailabilityCache(long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Returns the current generation of a garage, to be read before loading its availability and passed back to
+     * putDay or putAvailableDates
+     */
+    synchronized long getGeneration(Long garageId) {
+        return generations.getOrDefault(garageId, 0L);
+    }
+
+    /**
+     * Looks up the time slots of a garage-day
+     *
+     * @return null on a cache miss, otherwise an Optional holding a copy of the day (empty if the day has no slots)
+     */
+    synchronized Optional<DayAvailability> getDay(Long garageId, LocalDate date) {
+        DayKey key = new DayKey(garageId, date);
+        CachedDay cachedDay = days.get(key);
+        if (cachedDay != null && isExpired(cachedDay.expiresAt)) {
+            removeDay(key);
+            cachedDay = null;
+        }
+        if (cachedDay == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return cachedDay.day == NO_SLOTS ? Optional.<DayAvailability>empty() : Optional.of(copyOf(cachedDay.day));
+    }
+
+    /**
+     * Stores a garage-day loaded from the database, unless the garage changed since the load began
+     *
+     * @param generation the garage's generation read before the load
+     */
+    synchronized void putDay(Long garageId, LocalDate date, DayAvailability day, long generation) {
+        if (generation != getGeneration(garageId)) return;
+        DayKey key = new DayKey(garageId, date);
+        days.put(key, new CachedDay(day == null ? NO_SLOTS : copyOf(day), System.nanoTime() + ttlNanos));
+        dayKeysByGarage.computeIfAbsent(garageId, id -> new HashSet<>()).add(key);
+    }
+
+    /**
+     * Looks up the bookable dates of a garage on or after a given date
+     *
+     * @return null on a cache miss, otherwise a copy of the list
+     */
+    synchronized List<LocalDate> getAvailableDates(Long garageId, LocalDate fromDate) {
+        AvailableDates entry = availableDates.get(garageId);
+        if (entry != null && isExpired(entry.expiresAt)) {
+            availableDates.remove(garageId);
+            entry = null;
+        }
+        if (entry == null || !entry.fromDate.equals(fromDate)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new ArrayList<>(entry.dates);
+    }
+
+    /**
+     * Stores the bookable dates loaded from the database, unless the garage changed since the load began
+     *
+     * @param generation the garage's generation read before the load
+     */
+    synchronized void putAvailableDates(Long garageId, LocalDate fromDate, List<LocalDate> dates, long generation) {
+        if (generation != getGeneration(garageId)) return;
+        availableDates.put(garageId, new AvailableDates(fromDate, new TreeSet<>(dates), System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Marks slots of a cached garage-day as filled, dropping the date from the bookable dates once the day is full
+     */
+    synchronized void fillSlots(Long garageId, LocalDate date, long mask) {
+        CachedDay cachedDay = days.get(new DayKey(garageId, date));
+        if (cachedDay == null || cachedDay.day == NO_SLOTS) {
+            evictGarage(garageId);
+            return;
+        }
+        nextGeneration(garageId);
+        DayAvailability day = cachedDay.day;
+        day.setFilledSlots(day.getFilledSlots() | mask);
+        AvailableDates entry = availableDates.get(garageId);
+        if (entry != null && day.getFreeSlots() == 0L) entry.dates.remove(date);
+    }
+
+    /**
+     * Marks slots of a cached garage-day as free again, adding the date back to the bookable dates
+     */
+    synchronized void freeSlots(Long garageId, LocalDate date, long mask) {
+        CachedDay cachedDay = days.get(new DayKey(garageId, date));
+        if (cachedDay == null || cachedDay.day == NO_SLOTS) {
+            evictGarage(garageId);
+            return;
+        }
+        nextGeneration(garageId);
+        DayAvailability day = cachedDay.day;
+        day.setFilledSlots(day.getFilledSlots() & ~mask);
+        AvailableDates entry = availableDates.get(garageId);
+        if (entry != null && day.getFreeSlots() != 0L && !date.isBefore(entry.fromDate)) entry.dates.add(date);
+    }
+
+    /**
+     * Drops everything cached for a garage, used when its calendar or closed dates change
+     */
+    synchronized void evictGarage(Long garageId) {
+        nextGeneration(garageId);
+        availableDates.remove(garageId);
+        Set<DayKey> keys = dayKeysByGarage.remove(garageId);
+        if (keys != null) days.keySet().removeAll(keys);
+    }
+
+    /**
+     * Drops the cached days before a date, used once past days have been purged
+     */
+    synchronized void evictDaysBefore(LocalDate date) {
+        Iterator<DayKey> iterator = days.keySet().iterator();
+        while (iterator.hasNext()) {
+            DayKey key = iterator.next();
+            if (key.date.isBefore(date)) {
+                iterator.remove();
+                unindexDay(key);
+            }
+        }
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    synchronized int size() {
+        return days.size() + availableDates.size();
+    }
+
+    private void nextGeneration(Long garageId) {
+        generations.put(garageId, lastGeneration.incrementAndGet());
+    }
+
+    private void removeDay(DayKey key) {
+        days.remove(key);
+        unindexDay(key);
+    }
+
+    private void unindexDay(DayKey key) {
+        Set<DayKey> keys = dayKeysByGarage.get(key.garageId);
+        if (keys == null) return;
+        keys.remove(key);
+        if (keys.isEmpty()) dayKeysByGarage.remove(key.garageId);
+    }
+
+    private static boolean isExpired(long expiresAt) {
+        return System.nanoTime() - expiresAt > 0;
+    }
+
+    private static DayAvailability copyOf(DayAvailability day) {
+        DayAvailability copy = new DayAvailability();
+        copy.setGarage(day.getGarage());
+        copy.setAvailabilityDate(day.getAvailabilityDate());
+        copy.setFirstSlotTime(day.getFirstSlotTime());
+        copy.setOpenSlots(day.getOpenSlots());
+        copy.setFilledSlots(day.getFilledSlots());
+        return copy;
+    }
+
+    private static class DayKey {
+        private final Long garageId;
+        private final LocalDate date;
+
+        DayKey(Long garageId, LocalDate date) {
+            this.garageId = garageId;
+            this.date = date;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof DayKey)) return false;
+            DayKey other = (DayKey) obj;
+            return garageId.equals(other.garageId) && date.equals(other.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(garageId, date);
+        }
+    }
+
+    private static class CachedDay {
+        private final DayAvailability day;
+        private final long expiresAt;
+
+        CachedDay(DayAvailability day, long expiresAt) {
+            this.day = day;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class AvailableDates {
+        private final LocalDate fromDate;
+        private final SortedSet<LocalDate> dates;
+        private final long expiresAt;
+
+        AvailableDates(LocalDate fromDate, SortedSet<LocalDate> dates, long expiresAt) {
+            this.fromDate = fromDate;
+            this.dates = dates;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.GarageSummary;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+
+/**
+ * A bookable appointment start time at a garage, as found by the SlotSearchService
+ */
+public class AvailableSlot {
+    static final Comparator<AvailableSlot> EARLIEST_FIRST = Comparator
+            .comparing(AvailableSlot::getDate)
+            .thenComparing(AvailableSlot::getStartTime)
+            .thenComparing(slot -> slot.getGarage().getCompanyName())
+            .thenComparing(slot -> slot.getGarage().getId());
+
+    private final GarageSummary garage;
+    private final LocalDate date;
+    private final LocalTime startTime;
+
+    AvailableSlot(GarageSummary garage, LocalDate date, LocalTime startTime) {
+        this.garage = garage;
+        this.date = date;
+        this.startTime = startTime;
+    }
+
+    public GarageSummary getGarage() {
+        return garage;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+}
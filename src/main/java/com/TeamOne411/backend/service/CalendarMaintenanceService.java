@@ -0,0 +1,93 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.schedule.GarageCalendar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Back-end service running the nightly garage calendar maintenance. Each garage calendar is rolled forward so it
+ * always reaches the booking horizon, generating the time slots of only the days added, and the days that are in the
+ * past are deleted in bounded chunks, so the number of stored days stays the same however long the application runs.
+ * The maintenance has no lock, so it must only be scheduled on one node: two nodes extending the same calendar at
+ * once insert the same garage days and one of them fails on the unique garage and date key.
+ */
+@Service
+public class CalendarMaintenanceService {
+    private static final Logger LOGGER = Logger.getLogger(CalendarMaintenanceService.class.getName());
+
+    private final GarageCalendarService garageCalendarService;
+    private final BusinessHoursService businessHoursService;
+    private final int horizonMonths;
+    private final int purgeChunkSize;
+
+    public CalendarMaintenanceService(GarageCalendarService garageCalendarService,
+                                      BusinessHoursService businessHoursService,
+                                      @Value("${garageguide.calendar.horizon-months:3}") int horizonMonths,
+                                      @Value("${garageguide.calendar.purge-chunk-size:1000}") int purgeChunkSize) {
+        if (purgeChunkSize <= 0) {
+            throw new IllegalArgumentException("garageguide.calendar.purge-chunk-size must be positive, was "
+                    + purgeChunkSize);
+        }
+        this.garageCalendarService = garageCalendarService;
+        this.businessHoursService = businessHoursService;
+        this.horizonMonths = horizonMonths;
+        this.purgeChunkSize = purgeChunkSize;
+    }
+
+    /**
+     * Extends the garage calendars and purges the past days, nightly by default
+     */
+    @Scheduled(cron = "${garageguide.calendar.maintenance-cron:0 30 2 * * *}")
+    public void maintainCalendars() {
+        extendCalendars();
+        purgePastDays();
+    }
+
+    /**
+     * Extends every garage calendar ending before the booking horizon up to it. Each calendar is extended in its own
+     * transaction, so one garage failing does not hold back the others.
+     *
+     * @return the number of calendars extended
+     */
+    public int extendCalendars() {
+        LocalDate horizon = LocalDate.now().plusMonths(horizonMonths);
+        List<GarageCalendar> calendars = garageCalendarService.findCalendarsEndingBefore(horizon);
+        int extended = 0;
+        int daysAdded = 0;
+        for (GarageCalendar garageCalendar : calendars) {
+            try {
+                daysAdded += garageCalendarService.extendCalendar(garageCalendar, horizon, businessHoursService);
+                extended++;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not extend the calendar of garage "
+                        + garageCalendar.getGarage().getId(), e);
+            }
+        }
+        LOGGER.log(Level.INFO, "Extended " + extended + " garage calendars to " + horizon + ", adding "
+                + daysAdded + " days");
+        return extended;
+    }
+
+    /**
+     * Deletes the garage days before today, one chunk per transaction
+     *
+     * @return the number of days deleted
+     */
+    public int purgePastDays() {
+        LocalDate today = LocalDate.now();
+        int purged = 0;
+        int deleted;
+        do {
+            deleted = garageCalendarService.purgeDaysBefore(today, purgeChunkSize);
+            purged += deleted;
+        } while (deleted >= purgeChunkSize);
+        LOGGER.log(Level.INFO, "Purged " + purged + " past garage days");
+        return purged;
+    }
+}
@@ -2,6 +2,7 @@ package com.TeamOne411.backend.service;
 
 import com.TeamOne411.backend.entity.users.CarOwner;
 import com.TeamOne411.backend.repository.CarOwnerRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -12,21 +13,38 @@ import java.util.logging.Logger;
 public class CarOwnerService {
     private static final Logger LOGGER = Logger.getLogger(CarOwnerService.class.getName());
     private CarOwnerRepository carOwnerRepository;
+    private UserChangeTracker userChangeTracker;
 
-    public CarOwnerService(CarOwnerRepository carOwnerRepository) {
+    public CarOwnerService(CarOwnerRepository carOwnerRepository, UserChangeTracker userChangeTracker) {
         this.carOwnerRepository = carOwnerRepository;
+        this.userChangeTracker = userChangeTracker;
     }
 
     public List<CarOwner> findAll() {
         return carOwnerRepository.findAll();
     }
 
+    /**
+     * Finds one page of the CarOwners whose username contains the filter text
+     * @param filterText the text to look for, or an empty string for all
+     * @param pageable the rows to fetch and their sort order
+     * @return list of CarOwners on the page
+     */
+    public List<CarOwner> findAll(String filterText, Pageable pageable) {
+        return carOwnerRepository.findByUsernameContainingIgnoreCase(filterText, pageable);
+    }
+
+    public long count(String filterText) {
+        return carOwnerRepository.countByUsernameContainingIgnoreCase(filterText);
+    }
+
     public long count() {
         return carOwnerRepository.count();
     }
 
     public void delete(CarOwner carOwner) {
         carOwnerRepository.delete(carOwner);
+        userChangeTracker.userChanged(carOwner.getId());
     }
 
     public void save(CarOwner carOwner) {
@@ -36,5 +54,6 @@ public class CarOwnerService {
             return;
         }
         carOwnerRepository.save(carOwner);
+        userChangeTracker.userChanged(carOwner.getId());
     }
 }
@@ -3,48 +3,87 @@ package com.TeamOne411.backend.service;
 import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.schedule.*;
 import com.TeamOne411.backend.repository.ClosedDateRepository;
+import com.TeamOne411.backend.repository.DayAvailabilityRepository;
 import com.TeamOne411.backend.repository.GarageCalendarRepository;
-import com.TeamOne411.backend.repository.TimeSlotRepository;
+import com.TeamOne411.backend.service.exceptions.TimeSlotUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Back-end service interface for managing the Garage Calendar and appointment Time Slots
  */
 @Service
 public class GarageCalendarService {
+    private static final Logger LOGGER = Logger.getLogger(GarageCalendarService.class.getName());
 
     private final GarageCalendarRepository garageCalendarRepository;
-    private final TimeSlotRepository timeSlotRepository;
+    private final DayAvailabilityRepository dayAvailabilityRepository;
     private final ClosedDateRepository closedDateRepository;
+    private final GarageSearchService garageSearchService;
+    private final AvailabilityCache availabilityCache;
 
     public GarageCalendarService(GarageCalendarRepository garageScheduleRepository,
-                                 TimeSlotRepository timeSlotRepository,
-                                 ClosedDateRepository closedDateRepository) {
+                                 DayAvailabilityRepository dayAvailabilityRepository,
+                                 ClosedDateRepository closedDateRepository,
+                                 GarageSearchService garageSearchService,
+                                 @Value("${garageguide.calendar.cache-ttl-seconds:60}") long cacheTtlSeconds) {
         this.garageCalendarRepository = garageScheduleRepository;
-        this.timeSlotRepository = timeSlotRepository;
+        this.dayAvailabilityRepository = dayAvailabilityRepository;
         this.closedDateRepository = closedDateRepository;
+        this.garageSearchService = garageSearchService;
+        this.availabilityCache = new AvailabilityCache(cacheTtlSeconds);
     }
 
     public void saveClosedDate(ClosedDate closedDate) {
         closedDateRepository.save(closedDate);
+        availabilityCache.evictGarage(closedDate.getGarage().getId());
     }
 
     public void deleteClosedDate(ClosedDate closedDate) {
         closedDateRepository.delete(closedDate);
+        availabilityCache.evictGarage(closedDate.getGarage().getId());
     }
 
     public void saveGarageCalendar(GarageCalendar garageCalendar) {
         garageCalendarRepository.save(garageCalendar);
+        garageSearchService.garageCalendarSaved(garageCalendar);
     }
 
-    public void saveTimeSlot(TimeSlot timeSlot) {
-        timeSlotRepository.save(timeSlot);
+    public void saveDayAvailability(DayAvailability dayAvailability) {
+        dayAvailabilityRepository.save(dayAvailability);
+        afterCommit(() -> availabilityCache.evictGarage(dayAvailability.getGarage().getId()));
+    }
+
+    /**
+     * @return the number of availability lookups served from the cache
+     */
+    public long getAvailabilityCacheHits() {
+        return availabilityCache.getHits();
+    }
+
+    /**
+     * @return the number of availability lookups that had to go to the database
+     */
+    public long getAvailabilityCacheMisses() {
+        return availabilityCache.getMisses();
+    }
+
+    /**
+     * @return the number of entries currently held by the availability cache
+     */
+    public int getAvailabilityCacheSize() {
+        return availabilityCache.size();
     }
 
     /**
@@ -58,35 +97,38 @@ public class GarageCalendarService {
     }
 
     /**
-     * Finds a time slot for a specified garage on a specified date at a specified time and is not already filled.
-     * Used for setting time slots to isFilled = true following an appointment booking
+     * Finds the time slots of a garage for a specified date. Served from the availability cache when possible,
+     * so the returned object is a read-only snapshot.
      *
      * @param garage    the garage object to search by
      * @param localDate the date to search by
-     * @param localTime the time to search by
-     * @return the time slot found
+     * @return the day's time slots, or null if the garage has no slots on that date
      */
-    public TimeSlot findTimeSlotByGarageAndStartDateAndStartTime(Garage garage, LocalDate localDate, LocalTime localTime) {
-        return timeSlotRepository.findTimeSlotByGarageAndStartDateAndStartTimeAndIsFilledIsFalse(garage, localDate, localTime);
+    public DayAvailability findDayAvailabilityByGarageAndDate(Garage garage, LocalDate localDate) {
+        Optional<DayAvailability> cached = availabilityCache.getDay(garage.getId(), localDate);
+        if (cached != null) return cached.orElse(null);
+
+        // read before the query, so a change committed while the day loads keeps the loaded copy out of the cache
+        long generation = availabilityCache.getGeneration(garage.getId());
+        DayAvailability dayAvailability = dayAvailabilityRepository.findByGarageAndAvailabilityDate(garage, localDate);
+        availabilityCache.putDay(garage.getId(), localDate, dayAvailability, generation);
+        return dayAvailability;
     }
 
     /**
-     * Returns a list of available appointment times for a garage on a certain date (time slots are not filled)
-     * and after time "now" if "today" is the date passed
+     * Returns a list of available appointment times for a garage on a certain date, at which an appointment of the
+     * given duration fits into consecutive free time slots, and after time "now" if "today" is the date passed
      * Used for appointment booking
      *
      * @param garage    the garage object to search by
      * @param localDate the date to search by
+     * @param duration  the estimated duration of the appointment, or null for a single time slot
      * @return The list of available appointment times
      */
-    public List<LocalTime> findStartTimesByGarageAndDate(Garage garage, LocalDate localDate) {
-        LocalTime localTime;
-        if (localDate.equals(LocalDate.now())) {
-            localTime = LocalTime.now();
-        } else
-            localTime = LocalTime.MIDNIGHT;
-
-        return timeSlotRepository.findStartTimesByGarageAndStartDateEqualsAndStartTimeGreaterThanAndIsFilledIsFalse(garage, localDate, localTime);
+    public List<LocalTime> findStartTimesByGarageAndDate(Garage garage, LocalDate localDate, Duration duration) {
+        DayAvailability dayAvailability = findDayAvailabilityByGarageAndDate(garage, localDate);
+        if (dayAvailability == null) return new ArrayList<>();
+        return dayAvailability.getFreeStartTimes(earliestStartTime(localDate), toMinutes(duration));
     }
 
     /**
@@ -96,8 +138,113 @@ public class GarageCalendarService {
      * @return The list of available appointment dates
      */
     public List<LocalDate> findStartDatesByGarage(Garage garage) {
-        return timeSlotRepository.findStartDateByGarageAndStartDateGreaterThanEqualAndIsFilledFalse(garage,
-                LocalDate.now());
+        LocalDate today = LocalDate.now();
+        List<LocalDate> dates = availabilityCache.getAvailableDates(garage.getId(), today);
+        if (dates != null) return dates;
+
+        long generation = availabilityCache.getGeneration(garage.getId());
+        dates = dayAvailabilityRepository.findAvailableDatesByGarageAndAvailabilityDateGreaterThanEqual(garage, today);
+        availabilityCache.putAvailableDates(garage.getId(), today, dates, generation);
+        return dates;
+    }
+
+    /**
+     * Returns a list of appointment dates on or after "today" with at least one start time an appointment of the
+     * given duration fits at
+     *
+     * @param garage   the garage object to search by
+     * @param duration the estimated duration of the appointment, or null for a single time slot
+     * @return The list of available appointment dates
+     */
+    public List<LocalDate> findStartDatesByGarage(Garage garage, Duration duration) {
+        List<LocalDate> dates = findStartDatesByGarage(garage);
+        long minutes = toMinutes(duration);
+        if (DayAvailability.slotCount(minutes) <= 1 || dates.isEmpty()) return dates;
+
+        // check each date's slots, reading the days missing from the cache in one query
+        Map<LocalDate, DayAvailability> days = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate date : dates) {
+            Optional<DayAvailability> cached = availabilityCache.getDay(garage.getId(), date);
+            if (cached == null) {
+                missing.add(date);
+            } else {
+                cached.ifPresent(day -> days.put(date, day));
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = availabilityCache.getGeneration(garage.getId());
+            for (DayAvailability day : dayAvailabilityRepository.findByGarageAndAvailabilityDateIn(garage, missing)) {
+                availabilityCache.putDay(garage.getId(), day.getAvailabilityDate(), day, generation);
+                days.put(day.getAvailabilityDate(), day);
+            }
+        }
+
+        List<LocalDate> fittingDates = new ArrayList<>();
+        for (LocalDate date : dates) {
+            DayAvailability day = days.get(date);
+            if (day != null && !day.getFreeStartTimes(earliestStartTime(date), minutes).isEmpty()) {
+                fittingDates.add(date);
+            }
+        }
+        return fittingDates;
+    }
+
+    /**
+     * Returns the dates an appointment can be moved to at its garage. The appointment's own time slots count as free,
+     * since rescheduling frees them before reserving the new ones, so its current date is offered whenever it fits
+     * there at another time.
+     *
+     * @param appointment the appointment to move
+     * @return The list of dates the appointment fits on
+     */
+    public List<LocalDate> findRescheduleDates(Appointment appointment) {
+        List<LocalDate> dates = new ArrayList<>(findStartDatesByGarage(appointment.getGarage(),
+                appointment.getEstimatedDuration()));
+        LocalDate currentDate = appointment.getAppointmentDate();
+        if (!dates.contains(currentDate) && !currentDate.isBefore(LocalDate.now())
+                && !findRescheduleTimes(appointment, currentDate).isEmpty()) {
+            dates.add(currentDate);
+            Collections.sort(dates);
+        }
+        return dates;
+    }
+
+    /**
+     * Returns the start times an appointment can be moved to on a date, counting its own time slots as free
+     *
+     * @param appointment the appointment to move
+     * @param localDate   the date to search by
+     * @return The list of start times the appointment fits at
+     */
+    public List<LocalTime> findRescheduleTimes(Appointment appointment, LocalDate localDate) {
+        if (!localDate.equals(appointment.getAppointmentDate())) {
+            return findStartTimesByGarageAndDate(appointment.getGarage(), localDate,
+                    appointment.getEstimatedDuration());
+        }
+        DayAvailability dayAvailability = findDayAvailabilityByGarageAndDate(appointment.getGarage(), localDate);
+        if (dayAvailability == null) return new ArrayList<>();
+        long minutes = toMinutes(appointment.getEstimatedDuration());
+        long ownSlots = dayAvailability.getSlotMask(appointment.getAppointmentTime(), minutes);
+
+        // a detached copy, so the loaded day is never changed
+        DayAvailability withOwnSlotsFree = new DayAvailability();
+        withOwnSlotsFree.setAvailabilityDate(dayAvailability.getAvailabilityDate());
+        withOwnSlotsFree.setFirstSlotTime(dayAvailability.getFirstSlotTime());
+        withOwnSlotsFree.setOpenSlots(dayAvailability.getOpenSlots());
+        withOwnSlotsFree.setFilledSlots(dayAvailability.getFilledSlots() & ~ownSlots);
+        return withOwnSlotsFree.getFreeStartTimes(earliestStartTime(localDate), minutes);
+    }
+
+    /**
+     * @return the current time for today, otherwise midnight
+     */
+    private static LocalTime earliestStartTime(LocalDate localDate) {
+        return localDate.equals(LocalDate.now()) ? LocalTime.now() : LocalTime.MIDNIGHT;
+    }
+
+    private static long toMinutes(Duration duration) {
+        return duration == null ? DayAvailability.SLOT_MINUTES : duration.toMinutes();
     }
 
     /**
@@ -121,69 +268,183 @@ public class GarageCalendarService {
         return closedDateRepository.findClosedDateByGarageAndNotOpenDateEquals(garage, localDate);
     }
 
+
     /**
-     * Finds all garages if a garage calendar exists
+     * This generates the available appointment time slots for a garage.
+     * The business hours and closed dates are loaded once up front and each open day is written as a single
+     * DayAvailability row, all in one batched insert within a single transaction.
+     *
+     * @param businessHoursService the business hours service for managing the business hours
+     * @param garageCalendar       the garage calendar the time slots will be associated with
      */
-    public List<Garage> findAllByGarageExists() {
-        return garageCalendarRepository.findAllByGarageExists();
+    @Async("threadPoolTaskExecutor")
+    @Transactional
+    public void generateTimeSlots(GarageCalendar garageCalendar, BusinessHoursService businessHoursService) {
+        Garage garage = garageCalendar.getGarage();
+        List<DayAvailability> days = buildDays(garage, garageCalendar.getCalendarStartDate(),
+                garageCalendar.getCalendarEndDate(), businessHoursService);
+
+        dayAvailabilityRepository.saveAll(days);
+        afterCommit(() -> availabilityCache.evictGarage(garage.getId()));
+        LOGGER.log(Level.FINE, "Generated the availability of garage " + garage.getId() + ": " + days.size()
+                + " days");
     }
 
+    /**
+     * Finds the garage calendars, with their garages, whose end date is before a given date
+     *
+     * @param localDate the date to compare the calendar end dates with
+     * @return list of garage calendars
+     */
+    public List<GarageCalendar> findCalendarsEndingBefore(LocalDate localDate) {
+        return garageCalendarRepository.findAllByCalendarEndDateBefore(localDate);
+    }
 
     /**
-     * This generates the available appointment time slots for a garage
+     * Extends a garage calendar to a new end date, generating the time slots of only the days added.
+     * Days before today are skipped, and the calendar start date is moved up to today, so the calendar always
+     * describes the window appointments can be booked in.
      *
+     * @param garageCalendar       the garage calendar to extend
+     * @param newEndDate           the new last day of the calendar
      * @param businessHoursService the business hours service for managing the business hours
-     * @param garageCalendar       the garage calendar the time slots will be associated with
+     * @return the number of days with time slots added
      */
-    @Async("threadPoolTaskExecutor")
-    public void generateTimeSlots(GarageCalendar garageCalendar, BusinessHoursService businessHoursService) {
-        System.out.println("TimeSlot creation thread started");
-        for (LocalDate date = garageCalendar.getCalendarStartDate();
-             date.isBefore(garageCalendar.getCalendarEndDate().plusDays(1));
-             date = date.plusDays(1)) {
-
-            ClosedDate closedDate = findClosedDateByGarage(garageCalendar.getGarage(), date);
-            if (closedDate == null) {
-                BusinessHours businessHours = businessHoursService.findByDayNumberAndGarage(date.getDayOfWeek().getValue(),
-                        garageCalendar.getGarage());
-                if (businessHours.getOpen()) {
-                    long minutes = businessHours.subtractTimes();
-                    for (long i = 0; i < minutes; i += 30) {
-                        Duration d = Duration.ZERO.plusMinutes(i);
-                        LocalTime time = businessHours.getOpenTime().plus(d);
-                        TimeSlot timeSlot = new TimeSlot();
-                        timeSlot.setGarage(garageCalendar.getGarage());
-                        timeSlot.setStartDate(date);
-                        timeSlot.setStartTime(time);
-                        saveTimeSlot(timeSlot);
-                    }
-                }
+    @Transactional
+    public int extendCalendar(GarageCalendar garageCalendar, LocalDate newEndDate,
+                              BusinessHoursService businessHoursService) {
+        LocalDate today = LocalDate.now();
+        LocalDate firstNewDate = garageCalendar.getCalendarEndDate().plusDays(1);
+        if (firstNewDate.isBefore(today)) firstNewDate = today;
+        if (firstNewDate.isAfter(newEndDate)) return 0;
+
+        Garage garage = garageCalendar.getGarage();
+        List<DayAvailability> days = buildDays(garage, firstNewDate, newEndDate, businessHoursService);
+        dayAvailabilityRepository.saveAll(days);
+
+        garageCalendar.setCalendarEndDate(newEndDate);
+        if (garageCalendar.getCalendarStartDate().isBefore(today)) garageCalendar.setCalendarStartDate(today);
+        garageCalendarRepository.save(garageCalendar);
+        afterCommit(() -> availabilityCache.evictGarage(garage.getId()));
+        return days.size();
+    }
+
+    /**
+     * Deletes up to a number of garage days before a given date. Called repeatedly to purge past time slots in
+     * bounded transactions instead of one large delete.
+     *
+     * @param localDate the first date to keep
+     * @param maxDays   the maximum number of days deleted
+     * @return the number of days deleted
+     */
+    @Transactional
+    public int purgeDaysBefore(LocalDate localDate, int maxDays) {
+        int deleted = dayAvailabilityRepository.deleteDaysBefore(localDate, maxDays);
+        afterCommit(() -> availabilityCache.evictDaysBefore(localDate));
+        return deleted;
+    }
+
+    /**
+     * Builds the DayAvailability rows for the open days of a garage between two dates, from its business hours
+     * and closed dates
+     */
+    private List<DayAvailability> buildDays(Garage garage, LocalDate startDate, LocalDate endDate,
+                                            BusinessHoursService businessHoursService) {
+        // business hours keyed by day number (1 = Monday ... 7 = Sunday)
+        Map<Integer, BusinessHours> businessHoursByDay = new HashMap<>();
+        for (BusinessHours businessHours : businessHoursService.findByGarage(garage)) {
+            businessHoursByDay.put(businessHours.getDayNumber(), businessHours);
+        }
+
+        Set<LocalDate> closedDates = new HashSet<>();
+        for (ClosedDate closedDate : findClosedDatesByGarage(garage)) {
+            closedDates.add(closedDate.getNotOpenDate());
+        }
+
+        List<DayAvailability> days = new ArrayList<>();
+        for (LocalDate date = startDate; date.isBefore(endDate.plusDays(1)); date = date.plusDays(1)) {
+
+            if (closedDates.contains(date)) continue;
+
+            BusinessHours businessHours = businessHoursByDay.get(date.getDayOfWeek().getValue());
+            if (businessHours != null && businessHours.getOpen()) {
+                int slotCount = DayAvailability.slotCount(businessHours.subtractTimes());
+                if (slotCount <= 0) continue;
+
+                DayAvailability dayAvailability = new DayAvailability();
+                dayAvailability.setGarage(garage);
+                dayAvailability.setAvailabilityDate(date);
+                dayAvailability.setFirstSlotTime(businessHours.getOpenTime());
+                dayAvailability.setOpenSlots(DayAvailability.slotMask(0, slotCount));
+                days.add(dayAvailability);
             }
         }
-        System.out.println("TimeSlot creation complete");
+        return days;
     }
 
     /**
-     * This fills the garage time slots to prevent double booking
+     * Reserves the garage time slots covered by an appointment to prevent double booking.
+     * All slots for the appointment's estimated duration are claimed by one conditional update, which fails
+     * if any of them is already filled, so concurrent bookings for the same slot cannot both succeed.
      *
      * @param appointment the appointment that is filling the time slots
+     * @throws TimeSlotUnavailableException if any of the slots is not available
      */
-    @Async("threadPoolTaskExecutor")
-    public void fillTimeSlots(Appointment appointment) {
-        System.out.println("Starting To Fill Time Slots");
-        LocalDate date = appointment.getAppointmentDate();
-        long minutes = appointment.getEstimatedDuration().toMinutes();
-        for (long i = 0; i < minutes; i += 30) {
-            Duration d = Duration.ZERO.plusMinutes(i);
-            LocalTime time = appointment.getAppointmentTime().plus(d);
-            TimeSlot timeSlot = findTimeSlotByGarageAndStartDateAndStartTime(appointment.getGarage(), date, time);
-            if (timeSlot != null) {
-                timeSlot.setFilled(true);
-                saveTimeSlot(timeSlot);
-            } else {
-                break;
-            }
+    @Transactional
+    public void reserveTimeSlots(Appointment appointment) throws TimeSlotUnavailableException {
+        DayAvailability dayAvailability = findDayAvailabilityByGarageAndDate(appointment.getGarage(),
+                appointment.getAppointmentDate());
+        long mask = dayAvailability == null ? 0L : dayAvailability.getSlotMask(appointment.getAppointmentTime(),
+                appointment.getEstimatedDuration().toMinutes());
+
+        if (mask == 0L || dayAvailabilityRepository.fillSlotsIfFree(
+                appointment.getGarage().getId(), appointment.getAppointmentDate(), mask) == 0) {
+            // the cached view of this garage was out of date, reload it on the next lookup
+            availabilityCache.evictGarage(appointment.getGarage().getId());
+            throw new TimeSlotUnavailableException(
+                    "The selected appointment time is no longer available:" + appointment.getAppointmentDate()
+                            + " " + appointment.getAppointmentTime());
+        }
+        afterCommit(() -> availabilityCache.fillSlots(appointment.getGarage().getId(),
+                appointment.getAppointmentDate(), mask));
+    }
+
+    /**
+     * Frees the garage time slots held by an appointment, used when an appointment is cancelled or moved.
+     * All of the appointment's slots are released by a single update, and it joins the caller's transaction
+     * so the slots are only freed if the cancellation itself commits.
+     *
+     * @param appointment the appointment that is releasing its time slots
+     */
+    @Transactional
+    public void releaseTimeSlots(Appointment appointment) {
+        DayAvailability dayAvailability = findDayAvailabilityByGarageAndDate(appointment.getGarage(),
+                appointment.getAppointmentDate());
+        long mask = dayAvailability == null ? 0L : dayAvailability.getSlotMask(appointment.getAppointmentTime(),
+                appointment.getEstimatedDuration().toMinutes());
+        if (mask == 0L) return;
+
+        dayAvailabilityRepository.freeSlots(appointment.getGarage().getId(), appointment.getAppointmentDate(), mask);
+        afterCommit(() -> availabilityCache.freeSlots(appointment.getGarage().getId(),
+                appointment.getAppointmentDate(), mask));
+    }
+
+    /**
+     * Runs a cache update once the current transaction has committed, or straight away if there is none,
+     * so the cache never reflects changes that end up being rolled back
+     *
+     * @param action the cache update to run
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
-        System.out.println("Finished Filling Time Slots");
     }
 }
@@ -3,6 +3,7 @@ package com.TeamOne411.backend.service;
 import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.users.GarageEmployee;
 import com.TeamOne411.backend.repository.GarageEmployeeRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,9 +14,11 @@ import java.util.logging.Logger;
 public class GarageEmployeeService {
     private static final Logger LOGGER = Logger.getLogger(GarageEmployeeService.class.getName());
     private GarageEmployeeRepository garageEmployeeRepository;
+    private UserChangeTracker userChangeTracker;
 
-    public GarageEmployeeService(GarageEmployeeRepository garageEmployeeRepository) {
+    public GarageEmployeeService(GarageEmployeeRepository garageEmployeeRepository, UserChangeTracker userChangeTracker) {
         this.garageEmployeeRepository = garageEmployeeRepository;
+        this.userChangeTracker = userChangeTracker;
     }
 
     public List<GarageEmployee> findAll() {
@@ -26,12 +29,27 @@ public class GarageEmployeeService {
         return garageEmployeeRepository.findByGarage(employer);
     }
 
+    /**
+     * Finds one page of the GarageEmployees whose username contains the filter text
+     * @param filterText the text to look for, or an empty string for all
+     * @param pageable the rows to fetch and their sort order
+     * @return list of GarageEmployees on the page
+     */
+    public List<GarageEmployee> findAll(String filterText, Pageable pageable) {
+        return garageEmployeeRepository.findByUsernameContainingIgnoreCase(filterText, pageable);
+    }
+
+    public long count(String filterText) {
+        return garageEmployeeRepository.countByUsernameContainingIgnoreCase(filterText);
+    }
+
     public long count() {
         return garageEmployeeRepository.count();
     }
 
     public void delete(GarageEmployee garageEmployee) {
         garageEmployeeRepository.delete(garageEmployee);
+        userChangeTracker.userChanged(garageEmployee.getId());
     }
 
     public void save(GarageEmployee garageEmployee) {
@@ -41,5 +59,6 @@ public class GarageEmployeeService {
             return;
         }
         garageEmployeeRepository.save(garageEmployee);
+        userChangeTracker.userChanged(garageEmployee.getId());
     }
 }
@@ -0,0 +1,209 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.GarageSummary;
+
+import java.util.*;
+
+/**
+ * In-memory prefix index over the company name and address of the bookable garages, used by the
+ * GarageSearchService. Every word of the name and address is indexed under each of its prefixes up to
+ * MAX_PREFIX_LENGTH characters, so a search term is one map lookup no matter how many garages there are.
+ * Garages are added, replaced and removed one at a time as they change.
+ */
+class GarageSearchIndex {
+    static final int MAX_PREFIX_LENGTH = 8;
+
+    private static final int NAME_STARTS_WITH_SCORE = 8;
+    private static final int NAME_WORD_SCORE = 3;
+    private static final int ADDRESS_WORD_SCORE = 1;
+    private static final int PREFERRED_SCORE = 20;
+
+    private static final Comparator<GarageSummary> BY_NAME = Comparator
+            .comparing((GarageSummary garage) -> garage.getCompanyName().toLowerCase(Locale.ROOT))
+            .thenComparing(GarageSummary::getId);
+
+    private final Map<Long, IndexedGarage> garages = new HashMap<>();
+    private final Map<String, Set<Long>> idsByPrefix = new HashMap<>();
+
+    /**
+     * Replaces the whole index with the given garages
+     */
+    synchronized void rebuild(Collection<GarageSummary> summaries) {
+        garages.clear();
+        idsByPrefix.clear();
+        for (GarageSummary summary : summaries) {
+            add(summary);
+        }
+    }
+
+    /**
+     * Adds a garage, replacing it if it is already indexed
+     */
+    synchronized void put(GarageSummary summary) {
+        remove(summary.getId());
+        add(summary);
+    }
+
+    /**
+     * Replaces a garage only if it is already indexed
+     *
+     * @return true if the garage was indexed
+     */
+    synchronized boolean replace(GarageSummary summary) {
+        if (!garages.containsKey(summary.getId())) return false;
+        put(summary);
+        return true;
+    }
+
+    synchronized void remove(Long garageId) {
+        IndexedGarage indexed = garages.remove(garageId);
+        if (indexed == null) return;
+        for (String prefix : indexed.prefixes) {
+            Set<Long> ids = idsByPrefix.get(prefix);
+            if (ids != null && ids.remove(garageId) && ids.isEmpty()) {
+                idsByPrefix.remove(prefix);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return garages.size();
+    }
+
+    /**
+     * Finds the garages whose name or address has a word starting with each word of the search text, best
+     * matches first. A garage scores higher when its name starts with the search text, when the words match its name
+     * rather than its address, and when it is one of the preferred garages. Ties are ordered by company name.
+     *
+     * @param searchText         the text typed by the user, may be empty
+     * @param preferredGarageIds the ids of the garages to rank first
+     * @param limit              the maximum number of garages returned
+     * @return the best matching garages
+     */
+    synchronized List<GarageSummary> search(String searchText, Set<Long> preferredGarageIds, int limit) {
+        List<String> terms = tokenize(searchText);
+        String lowerCaseText = searchText == null ? "" : searchText.trim().toLowerCase(Locale.ROOT);
+
+        List<ScoredGarage> matches = new ArrayList<>();
+        for (Long id : findCandidates(terms)) {
+            IndexedGarage indexed = garages.get(id);
+            int score = score(indexed, terms, lowerCaseText);
+            if (score < 0) continue;
+            if (preferredGarageIds.contains(id)) score += PREFERRED_SCORE;
+            matches.add(new ScoredGarage(indexed.summary, score));
+        }
+
+        matches.sort(Comparator.comparingInt((ScoredGarage match) -> -match.score)
+                .thenComparing(match -> match.summary, BY_NAME));
+        List<GarageSummary> results = new ArrayList<>(Math.min(limit, matches.size()));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            results.add(matches.get(i).summary);
+        }
+        return results;
+    }
+
+    /**
+     * Intersects the ids indexed under each search term, smallest set first
+     */
+    private Collection<Long> findCandidates(List<String> terms) {
+        if (terms.isEmpty()) return garages.keySet();
+
+        List<Set<Long>> idSets = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            String prefix = term.length() > MAX_PREFIX_LENGTH ? term.substring(0, MAX_PREFIX_LENGTH) : term;
+            Set<Long> ids = idsByPrefix.get(prefix);
+            if (ids == null) return Collections.emptyList();
+            idSets.add(ids);
+        }
+        idSets.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>(idSets.get(0));
+        for (int i = 1; i < idSets.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(idSets.get(i));
+        }
+        return candidates;
+    }
+
+    /**
+     * @return the relevance of the garage, or -1 if a search term longer than the indexed prefixes does not match
+     */
+    private int score(IndexedGarage indexed, List<String> terms, String lowerCaseText) {
+        int score = 0;
+        for (String term : terms) {
+            if (startsAnyWord(indexed.nameWords, term)) {
+                score += NAME_WORD_SCORE;
+            } else if (startsAnyWord(indexed.addressWords, term)) {
+                score += ADDRESS_WORD_SCORE;
+            } else {
+                return -1;
+            }
+        }
+        if (!lowerCaseText.isEmpty() && indexed.lowerCaseName.startsWith(lowerCaseText)) {
+            score += NAME_STARTS_WITH_SCORE;
+        }
+        return score;
+    }
+
+    private static boolean startsAnyWord(List<String> words, String term) {
+        for (String word : words) {
+            if (word.startsWith(term)) return true;
+        }
+        return false;
+    }
+
+    private void add(GarageSummary summary) {
+        IndexedGarage indexed = new IndexedGarage(summary);
+        garages.put(summary.getId(), indexed);
+        for (String prefix : indexed.prefixes) {
+            idsByPrefix.computeIfAbsent(prefix, key -> new HashSet<>()).add(summary.getId());
+        }
+    }
+
+    /**
+     * Splits a text into lower case words of letters and digits
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) return Collections.emptyList();
+        List<String> words = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    private static class IndexedGarage {
+        private final GarageSummary summary;
+        private final String lowerCaseName;
+        private final List<String> nameWords;
+        private final List<String> addressWords;
+        private final Set<String> prefixes = new HashSet<>();
+
+        IndexedGarage(GarageSummary summary) {
+            this.summary = summary;
+            this.lowerCaseName = summary.getCompanyName() == null
+                    ? "" : summary.getCompanyName().toLowerCase(Locale.ROOT);
+            this.nameWords = tokenize(summary.getCompanyName());
+            this.addressWords = tokenize(summary.getAddress());
+            addPrefixes(nameWords);
+            addPrefixes(addressWords);
+        }
+
+        private void addPrefixes(List<String> words) {
+            for (String word : words) {
+                for (int length = 1; length <= Math.min(word.length(), MAX_PREFIX_LENGTH); length++) {
+                    prefixes.add(word.substring(0, length));
+                }
+            }
+        }
+    }
+
+    private static class ScoredGarage {
+        private final GarageSummary summary;
+        private final int score;
+
+        ScoredGarage(GarageSummary summary, int score) {
+            this.summary = summary;
+            this.score = score;
+        }
+    }
+}
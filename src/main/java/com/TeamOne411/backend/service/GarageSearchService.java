@@ -0,0 +1,101 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
+import com.TeamOne411.backend.entity.schedule.GarageCalendar;
+import com.TeamOne411.backend.entity.users.CarOwner;
+import com.TeamOne411.backend.repository.CarOwnerRepository;
+import com.TeamOne411.backend.repository.GarageCalendarRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Back-end service for searching the bookable garages, the garages that have a garage calendar, by company name
+ * and address. The garages are read into a GarageSearchIndex on the first search and kept up to date as garages and
+ * calendars are saved, so a search does not go to the database and only the best matches are returned.
+ */
+@Service
+public class GarageSearchService {
+    private final GarageCalendarRepository garageCalendarRepository;
+    private final CarOwnerRepository carOwnerRepository;
+    private final GarageSearchIndex index = new GarageSearchIndex();
+    private volatile boolean loaded = false;
+
+    public GarageSearchService(GarageCalendarRepository garageCalendarRepository,
+                               CarOwnerRepository carOwnerRepository) {
+        this.garageCalendarRepository = garageCalendarRepository;
+        this.carOwnerRepository = carOwnerRepository;
+    }
+
+    /**
+     * Finds the bookable garages matching a search text, best matches and preferred garages first
+     *
+     * @param searchText         the text typed by the user, or an empty string for all garages
+     * @param preferredGarageIds the ids of the garages to rank first
+     * @param limit              the maximum number of garages returned
+     * @return the best matching garages
+     */
+    public List<GarageSummary> searchBookableGarages(String searchText, Set<Long> preferredGarageIds, int limit) {
+        ensureLoaded();
+        return index.search(searchText, preferredGarageIds, limit);
+    }
+
+    /**
+     * Finds the ids of a car owner's preferred garages, without loading the garages
+     *
+     * @param carOwner the car owner
+     * @return the ids of the preferred garages
+     */
+    public Set<Long> findPreferredGarageIds(CarOwner carOwner) {
+        if (carOwner == null || carOwner.getId() == null) return Collections.emptySet();
+        return new HashSet<>(carOwnerRepository.findPreferredGarageIds(carOwner.getId()));
+    }
+
+    /**
+     * Re-reads all bookable garages from the database
+     */
+    public synchronized void reload() {
+        index.rebuild(garageCalendarRepository.findGarageSummariesByGarageExists());
+        loaded = true;
+    }
+
+    /**
+     * Updates the name and address of a garage if it is bookable
+     */
+    public synchronized void garageSaved(Garage garage) {
+        if (loaded && garage != null && garage.getId() != null) {
+            index.replace(GarageSummary.of(garage));
+        }
+    }
+
+    public synchronized void garageDeleted(Garage garage) {
+        if (loaded && garage != null && garage.getId() != null) {
+            index.remove(garage.getId());
+        }
+    }
+
+    /**
+     * Makes the garage of a newly saved calendar bookable
+     */
+    public synchronized void garageCalendarSaved(GarageCalendar garageCalendar) {
+        if (loaded && garageCalendar.getGarage() != null && garageCalendar.getGarage().getId() != null) {
+            index.put(GarageSummary.of(garageCalendar.getGarage()));
+        }
+    }
+
+    /**
+     * @return the number of garages in the search index
+     */
+    public int getIndexedGarageCount() {
+        return index.size();
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) reload();
+            }
+        }
+    }
+}
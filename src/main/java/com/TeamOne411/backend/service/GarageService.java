@@ -1,10 +1,14 @@
 package com.TeamOne411.backend.service;
 
 import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
+import com.TeamOne411.backend.entity.users.CarOwner;
 import com.TeamOne411.backend.repository.GarageRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -12,21 +16,77 @@ import java.util.logging.Logger;
 public class GarageService {
     private static final Logger LOGGER = Logger.getLogger(GarageService.class.getName());
     private GarageRepository garageRepository;
+    private GarageSearchService garageSearchService;
 
-    public GarageService(GarageRepository garageRepository) {
+    public GarageService(GarageRepository garageRepository, GarageSearchService garageSearchService) {
         this.garageRepository = garageRepository;
+        this.garageSearchService = garageSearchService;
     }
 
     public List<Garage> findAll() {
         return garageRepository.findAll();
     }
 
+    /**
+     * Finds the id, company name, address and phone number of every garage, for the garage pickers
+     * @return list of GarageSummaries ordered by company name
+     */
+    public List<GarageSummary> findAllSummaries() {
+        return garageRepository.findAllSummaries();
+    }
+
+    /**
+     * Finds the bookable garages matching a search text from the in-memory search index, best matches first
+     * @param searchText the text typed by the user, or an empty string for all garages
+     * @param carOwnerPreferredGarageIds the ids of the car owner's preferred garages, which are ranked first
+     * @param limit the maximum number of garages returned
+     * @return list of GarageSummaries of the best matches
+     */
+    public List<GarageSummary> searchBookableGarages(String searchText, Set<Long> carOwnerPreferredGarageIds,
+                                                     int limit) {
+        return garageSearchService.searchBookableGarages(searchText, carOwnerPreferredGarageIds, limit);
+    }
+
+    /**
+     * Finds the ids of a car owner's preferred garages
+     * @param carOwner the car owner
+     * @return set of garage ids
+     */
+    public Set<Long> findPreferredGarageIds(CarOwner carOwner) {
+        return garageSearchService.findPreferredGarageIds(carOwner);
+    }
+
+    /**
+     * Returns a reference to the garage of a summary without loading it, for setting the garage of another entity
+     * @param garageSummary the summary of the garage
+     * @return the garage reference, or null if the summary is null
+     */
+    public Garage getReference(GarageSummary garageSummary) {
+        if (garageSummary == null) return null;
+        return garageRepository.getOne(garageSummary.getId());
+    }
+
+    /**
+     * Finds one page of the Garages whose company name contains the filter text
+     * @param filterText the text to look for, or an empty string for all
+     * @param pageable the rows to fetch and their sort order
+     * @return list of Garages on the page
+     */
+    public List<Garage> findAll(String filterText, Pageable pageable) {
+        return garageRepository.findByCompanyNameContainingIgnoreCase(filterText, pageable);
+    }
+
+    public long count(String filterText) {
+        return garageRepository.countByCompanyNameContainingIgnoreCase(filterText);
+    }
+
     public long count() {
         return garageRepository.count();
     }
 
     public void delete(Garage garage) {
         garageRepository.delete(garage);
+        garageSearchService.garageDeleted(garage);
     }
 
     public void save(Garage garage) {
@@ -36,5 +96,6 @@ public class GarageService {
             return;
         }
         garageRepository.save(garage);
+        garageSearchService.garageSaved(garage);
     }
 }
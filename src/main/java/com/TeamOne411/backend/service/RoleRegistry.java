@@ -0,0 +1,110 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.users.Privilege;
+import com.TeamOne411.backend.entity.users.Role;
+import com.TeamOne411.backend.repository.PrivilegeRepository;
+import com.TeamOne411.backend.repository.RoleRepository;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Back-end service holding the roles and privileges in memory. They are reference data created at startup by the
+ * SetupDataLoader, so they are read from the database once instead of on every registration and user update.
+ * The granted authorities of each combination of roles are also built once and shared by all GGUserDetails.
+ */
+@Service
+public class RoleRegistry {
+    public static final String ROLE_GG_ADMIN = "ROLE_GG_ADMIN";
+    public static final String ROLE_CAR_OWNER = "ROLE_CAR_OWNER";
+    public static final String ROLE_GARAGE_EMPLOYEE = "ROLE_GARAGE_EMPLOYEE";
+    public static final String ROLE_GARAGE_ADMIN = "ROLE_GARAGE_ADMIN";
+
+    private final RoleRepository roleRepository;
+    private final PrivilegeRepository privilegeRepository;
+
+    private volatile Map<String, Role> roles = Collections.emptyMap();
+    private volatile Map<String, Privilege> privileges = Collections.emptyMap();
+    private final Map<Set<String>, List<GrantedAuthority>> authoritiesByRoleNames = new ConcurrentHashMap<>();
+
+    public RoleRegistry(RoleRepository roleRepository, PrivilegeRepository privilegeRepository) {
+        this.roleRepository = roleRepository;
+        this.privilegeRepository = privilegeRepository;
+    }
+
+    /**
+     * Reads all roles and privileges from the database, replacing what was loaded before
+     */
+    public synchronized void reload() {
+        Map<String, Role> loadedRoles = new HashMap<>();
+        for (Role role : roleRepository.findAll()) {
+            loadedRoles.put(role.getName(), role);
+        }
+        Map<String, Privilege> loadedPrivileges = new HashMap<>();
+        for (Privilege privilege : privilegeRepository.findAll()) {
+            loadedPrivileges.put(privilege.getName(), privilege);
+        }
+        roles = Collections.unmodifiableMap(loadedRoles);
+        privileges = Collections.unmodifiableMap(loadedPrivileges);
+        authoritiesByRoleNames.clear();
+    }
+
+    /**
+     * @param name the role name, e.g. ROLE_CAR_OWNER
+     * @return the role with that name
+     * @throws IllegalStateException if there is no such role
+     */
+    public Role getRole(String name) {
+        Role role = roles.get(name);
+        if (role == null) {
+            // the role may have been created after the last load
+            reload();
+            role = roles.get(name);
+        }
+        if (role == null) throw new IllegalStateException("There is no role named " + name);
+        return role;
+    }
+
+    /**
+     * @param name the privilege name, e.g. READ_PRIVILEGE
+     * @return the privilege with that name, or null if there is none
+     */
+    public Privilege getPrivilege(String name) {
+        return privileges.get(name);
+    }
+
+    public Collection<Role> getRoles() {
+        return roles.values();
+    }
+
+    /**
+     * Returns the granted authorities for a set of roles, one per role name
+     *
+     * @param userRoles the roles of a user
+     * @return a shared, unmodifiable list of authorities
+     */
+    public List<GrantedAuthority> getAuthorities(Collection<Role> userRoles) {
+        Set<String> roleNames = new TreeSet<>();
+        if (userRoles != null) {
+            for (Role role : userRoles) {
+                roleNames.add(role.getName());
+            }
+        }
+        return authoritiesByRoleNames.computeIfAbsent(Collections.unmodifiableSet(roleNames),
+                RoleRegistry::toAuthorities);
+    }
+
+    /**
+     * Builds the granted authorities for a set of role names
+     */
+    public static List<GrantedAuthority> toAuthorities(Collection<String> roleNames) {
+        List<GrantedAuthority> authorities = new ArrayList<>(roleNames.size());
+        for (String roleName : roleNames) {
+            authorities.add(new SimpleGrantedAuthority(roleName));
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+}
@@ -5,6 +5,7 @@ import com.TeamOne411.backend.entity.servicecatalog.OfferedService;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
 import com.TeamOne411.backend.repository.OfferedServiceRepository;
 import com.TeamOne411.backend.repository.ServiceCategoryRepository;
+import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
@@ -30,6 +31,14 @@ public class ServiceCatalogService {
         return offeredServiceRepository.findAll();
     }
 
+    public List<OfferedService> findOfferedServices(String filterText, Pageable pageable) {
+        return offeredServiceRepository.findByServiceNameContainingIgnoreCase(filterText, pageable);
+    }
+
+    public long countOfferedServices(String filterText) {
+        return offeredServiceRepository.countByServiceNameContainingIgnoreCase(filterText);
+    }
+
     public List<OfferedService> findByServiceCategory_Garage(Garage garage) {
         return offeredServiceRepository.findByServiceCategory_GarageOrderByServiceCategory(garage);
     }
@@ -50,6 +59,14 @@ public class ServiceCatalogService {
         return (serviceCategoryRepository.findAll());
     }
 
+    public List<ServiceCategory> findServiceCategories(String filterText, Pageable pageable) {
+        return serviceCategoryRepository.findByCategoryNameContainingIgnoreCase(filterText, pageable);
+    }
+
+    public long countServiceCategories(String filterText) {
+        return serviceCategoryRepository.countByCategoryNameContainingIgnoreCase(filterText);
+    }
+
     public List<ServiceCategory> findCategoriesByGarage(Garage garage) {
         return serviceCategoryRepository.findCategoriesByGarage(garage);
     }
@@ -0,0 +1,103 @@
+package com.TeamOne411.backend.service;
+
+import com.TeamOne411.backend.entity.GarageSummary;
+import com.TeamOne411.backend.entity.schedule.DayAvailability;
+import com.TeamOne411.backend.entity.schedule.GarageFreeDay;
+import com.TeamOne411.backend.entity.servicecatalog.OfferedService;
+import com.TeamOne411.backend.repository.DayAvailabilityRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Back-end service that finds the earliest appointment start times across garages.
+ * The days with free slots are read a week at a time for all garages in one query, as GarageFreeDay projections
+ * rather than entities, and the start times each garage-day can fit the appointment at are worked out from its slot
+ * masks. The search stops at the first week that completes the requested number of start times.
+ */
+@Service
+public class SlotSearchService {
+    static final int SEARCH_DAYS = 92;
+    static final int DAYS_PER_QUERY = 7;
+
+    private final DayAvailabilityRepository dayAvailabilityRepository;
+
+    public SlotSearchService(DayAvailabilityRepository dayAvailabilityRepository) {
+        this.dayAvailabilityRepository = dayAvailabilityRepository;
+    }
+
+    /**
+     * Finds the earliest start times with enough consecutive free slots for a set of services
+     *
+     * @param offeredServices the services to book, their durations are added up
+     * @param garageIds       the garages to search, or null or empty for all garages
+     * @param maxResults      the number of start times to return
+     * @return the earliest start times, ordered by date and time
+     */
+    public List<AvailableSlot> findEarliestSlots(Collection<OfferedService> offeredServices,
+                                                 Collection<Long> garageIds, int maxResults) {
+        Duration duration = Duration.ZERO;
+        for (OfferedService offeredService : offeredServices) {
+            if (offeredService.getDuration() != null) duration = duration.plus(offeredService.getDuration());
+        }
+        return findEarliestSlots(duration, garageIds, maxResults);
+    }
+
+    /**
+     * Finds the earliest start times with enough consecutive free slots for an appointment
+     *
+     * @param duration   the length of the appointment
+     * @param garageIds  the garages to search, or null or empty for all garages
+     * @param maxResults the number of start times to return
+     * @return the earliest start times, ordered by date and time
+     */
+    public List<AvailableSlot> findEarliestSlots(Duration duration, Collection<Long> garageIds, int maxResults) {
+        if (maxResults <= 0) return new ArrayList<>();
+        int slotCount = Math.max(1, DayAvailability.slotCount(duration.toMinutes()));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate lastDate = now.toLocalDate().plusDays(SEARCH_DAYS - 1);
+
+        List<AvailableSlot> found = new ArrayList<>();
+        for (LocalDate from = now.toLocalDate(); !from.isAfter(lastDate); from = from.plusDays(DAYS_PER_QUERY)) {
+            LocalDate to = from.plusDays(DAYS_PER_QUERY - 1);
+            if (to.isAfter(lastDate)) to = lastDate;
+
+            List<GarageFreeDay> days = garageIds == null || garageIds.isEmpty()
+                    ? dayAvailabilityRepository.findFreeDaysBetween(from, to)
+                    : dayAvailabilityRepository.findFreeDaysBetweenForGarages(from, to, garageIds);
+            for (GarageFreeDay day : days) {
+                found.addAll(findFittingSlots(day, slotCount, now, maxResults));
+            }
+
+            // later queries only cover later dates, so once enough start times are found they are the earliest
+            if (found.size() >= maxResults) break;
+        }
+
+        found.sort(AvailableSlot.EARLIEST_FIRST);
+        return found.size() > maxResults ? new ArrayList<>(found.subList(0, maxResults)) : found;
+    }
+
+    /**
+     * Finds up to maxResults start times on one garage-day that the appointment fits at, earliest first
+     */
+    private static List<AvailableSlot> findFittingSlots(GarageFreeDay day, int slotCount, LocalDateTime now,
+                                                        int maxResults) {
+        long starts = DayAvailability.fittingStartMask(day.getFreeSlots(), slotCount);
+        if (starts == 0) return Collections.emptyList();
+
+        LocalTime notBefore = day.getAvailabilityDate().equals(now.toLocalDate()) ? now.toLocalTime()
+                : LocalTime.MIDNIGHT;
+        GarageSummary garage = day.getGarage();
+        List<AvailableSlot> slots = new ArrayList<>();
+        while (starts != 0 && slots.size() < maxResults) {
+            LocalTime time = day.getSlotTime(Long.numberOfTrailingZeros(starts));
+            if (!time.isBefore(notBefore)) slots.add(new AvailableSlot(garage, day.getAvailabilityDate(), time));
+            starts &= starts - 1;
+        }
+        return slots;
+    }
+}
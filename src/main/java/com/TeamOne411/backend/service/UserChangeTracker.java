@@ -0,0 +1,32 @@
+package com.TeamOne411.backend.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the saves and deletes of each user made through the services, so the UserDetailsService can tell that the
+ * principal of a logged in user was built from an older copy of the user and reload it. The counts are kept in
+ * memory, like the other caches of the app, so they only cover the changes made on this node.
+ */
+@Component
+public class UserChangeTracker {
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * @return the number of changes to the user so far, 0 if it was not changed since startup
+     */
+    long getVersion(Long userId) {
+        return userId == null ? 0 : versions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Records a save or delete of the user
+     *
+     * @return the new version of the user
+     */
+    long userChanged(Long userId) {
+        return userId == null ? 0 : versions.merge(userId, 1L, Long::sum);
+    }
+}
@@ -2,25 +2,28 @@ package com.TeamOne411.backend.service;
 
 import com.TeamOne411.backend.entity.users.*;
 import com.TeamOne411.backend.repository.CarOwnerRepository;
-import com.TeamOne411.backend.repository.RoleRepository;
 import com.TeamOne411.backend.repository.UserRepository;
 import com.TeamOne411.backend.service.exceptions.EmailExistsException;
 import com.TeamOne411.backend.service.exceptions.PhoneNumberExistsException;
 import com.TeamOne411.backend.service.exceptions.UsernameExistsException;
 import com.TeamOne411.security.SecurityUtils;
+import com.vaadin.flow.server.VaadinSession;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.*;
 
-public class UserDetailsService implements org.springframework.security.core.userdetails.UserDetailsService {
+public class UserDetailsService implements org.springframework.security.core.userdetails.UserDetailsService,
+        UserDetailsPasswordService {
+    // the session attribute holding the logged in user, see getLoggedInUser
+    private static final String LOGGED_IN_USER_ATTRIBUTE = LoggedInUser.class.getName();
 
     @Autowired
     private UserRepository userRepository;
@@ -32,7 +35,12 @@ public class UserDetailsService implements org.springframework.security.core.use
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserChangeTracker userChangeTracker;
+
+    private final AccountLookupCache accountLookupCache = new AccountLookupCache();
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -42,71 +50,164 @@ public class UserDetailsService implements org.springframework.security.core.use
             throw new UsernameNotFoundException("Could not find user");
         }
 
-        return new GGUserDetails(user);
+        return toUserDetails(user, userChangeTracker.getVersion(user.getId()));
+    }
+
+    private GGUserDetails toUserDetails(User user, long version) {
+        return new GGUserDetails(user, roleRegistry.getAuthorities(user.getRoles()), version);
+    }
+
+    /**
+     * Stores a rehashed password, called by the authentication provider after a successful login when the stored hash
+     * was made with a different BCrypt cost than the configured one
+     *
+     * @param userDetails the user who just logged in
+     * @param newPassword the password hashed with the configured cost
+     * @return the user details with the new password
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userDetails instanceof GGUserDetails
+                ? userRepository.findById(((GGUserDetails) userDetails).getUserId()).orElse(null)
+                : userRepository.findByUsername(userDetails.getUsername());
+        if (user == null) {
+            throw new UsernameNotFoundException("Could not find user");
+        }
+        user.setPassword(newPassword);
+        User savedUser = userRepository.save(user);
+        return toUserDetails(savedUser, userChangeTracker.userChanged(savedUser.getId()));
     }
 
+    /**
+     * Returns the details of the logged in user, without going to the database unless the user has changed.
+     * The GGUserDetails loaded at login is the principal of the session's security context, so it is reused for
+     * every view. When the user was saved or deleted since the principal was built, by themselves or by an admin,
+     * the user is loaded again by id and the principal replaced.
+     *
+     * @return the logged in user's details, or null if nobody is logged in or the user was deleted
+     */
     public GGUserDetails getLoggedInUserDetails() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (!SecurityUtils.isUserLoggedIn() || authentication instanceof AnonymousAuthenticationToken) return null;
 
-        return (GGUserDetails) loadUserByUsername(authentication.getName());
-    }
+        User user;
+        long version;
+        if (authentication.getPrincipal() instanceof GGUserDetails) {
+            GGUserDetails userDetails = (GGUserDetails) authentication.getPrincipal();
+            // read before loading, so a change made while the user loads is picked up the next time
+            version = userChangeTracker.getVersion(userDetails.getUserId());
+            if (userDetails.getVersion() == version) return userDetails;
+            user = userRepository.findById(userDetails.getUserId()).orElse(null);
+        } else {
+            // the principal was not built by this service, so load the user once and keep it in the security context
+            user = userRepository.findByUsername(authentication.getName());
+            version = user == null ? 0 : userChangeTracker.getVersion(user.getId());
+        }
 
-    public boolean isUsernameExisting(String username){
-        //if user does not exist, return false
-        return  userRepository.findByUsername(username) != null;
+        if (user == null) {
+            SecurityContextHolder.clearContext();
+            return null;
+        }
+        GGUserDetails userDetails = toUserDetails(user, version);
+        setLoggedInUserDetails(authentication, userDetails);
+        // the user was just loaded, so getLoggedInUser does not load it again
+        cacheLoggedInUser(new LoggedInUser(user, version));
+        return userDetails;
     }
 
-    public boolean isEmailExisting(String email){
-        //if email does not exist, return false
-        return  userRepository.findByEmail(email) != null;
+    /**
+     * Returns the logged in user. The user is kept in the Vaadin session with the version it was loaded at, so the
+     * home views do not query the user tables on every navigation; it is loaded again by id only when the
+     * UserChangeTracker reports a newer version.
+     *
+     * @return the logged in user, or null if nobody is logged in or the user was deleted
+     */
+    public User getLoggedInUser() {
+        GGUserDetails userDetails = getLoggedInUserDetails();
+        if (userDetails == null) return null;
+
+        VaadinSession session = VaadinSession.getCurrent();
+        LoggedInUser loggedInUser = session == null ? null
+                : (LoggedInUser) session.getAttribute(LOGGED_IN_USER_ATTRIBUTE);
+        if (loggedInUser != null && loggedInUser.isCurrent(userDetails)) return loggedInUser.user;
+
+        User user = userRepository.findById(userDetails.getUserId()).orElse(null);
+        if (user != null) cacheLoggedInUser(new LoggedInUser(user, userDetails.getVersion()));
+        return user;
     }
 
-    public boolean isCarOwnerPhoneExisting(String phone){
-        //if phone does not exist, return false
-        return carOwnerRepository.findByPhoneNumber(phone) != null;
+    /**
+     * Keeps the logged in user in the Vaadin session, if there is one
+     */
+    private void cacheLoggedInUser(LoggedInUser loggedInUser) {
+        VaadinSession session = VaadinSession.getCurrent();
+        if (session != null) session.setAttribute(LOGGED_IN_USER_ATTRIBUTE, loggedInUser);
     }
 
-    private Collection<? extends GrantedAuthority> getAuthorities(
-            Collection<Role> roles) {
-
-        return getGrantedAuthorities(getPrivileges(roles));
+    /**
+     * Replaces the principal of the security context, keeping the credentials and request details of the login
+     */
+    private void setLoggedInUserDetails(Authentication authentication, GGUserDetails userDetails) {
+        UsernamePasswordAuthenticationToken updatedAuthentication = new UsernamePasswordAuthenticationToken(
+                userDetails, authentication.getCredentials(), userDetails.getAuthorities());
+        updatedAuthentication.setDetails(authentication.getDetails());
+        SecurityContextHolder.getContext().setAuthentication(updatedAuthentication);
     }
 
-    private List<String> getPrivileges(Collection<Role> roles) {
-
-        List<String> privileges = new ArrayList<>();
-        List<Privilege> collection = new ArrayList<>();
-        for (Role role : roles) {
-            collection.addAll(role.getPrivileges());
+    public boolean isUsernameExisting(String username){
+        //if user does not exist, return false
+        Boolean taken = accountLookupCache.get("username", username);
+        if (taken == null) {
+            taken = userRepository.existsByUsername(username);
+            accountLookupCache.put("username", username, taken);
         }
-        for (Privilege item : collection) {
-            privileges.add(item.getName());
+        return taken;
+    }
+
+    public boolean isEmailExisting(String email){
+        //if email does not exist, return false
+        Boolean taken = accountLookupCache.get("email", email);
+        if (taken == null) {
+            taken = userRepository.existsByEmail(email);
+            accountLookupCache.put("email", email, taken);
         }
-        return privileges;
+        return taken;
     }
 
-    private List<GrantedAuthority> getGrantedAuthorities(List<String> privileges) {
-        List<GrantedAuthority> authorities = new ArrayList<>();
-        for (String privilege : privileges) {
-            authorities.add(new SimpleGrantedAuthority(privilege));
+    public boolean isCarOwnerPhoneExisting(String phone){
+        //if phone does not exist, return false
+        Boolean taken = accountLookupCache.get("phone", phone);
+        if (taken == null) {
+            taken = carOwnerRepository.existsByPhoneNumber(phone);
+            accountLookupCache.put("phone", phone, taken);
         }
-        return authorities;
+        return taken;
     }
 
     public User registerNewUser(User user) throws EmailExistsException, UsernameExistsException, PhoneNumberExistsException {
+        // check username, email and phone number for uniqueness in one query, skipping the cache of the form checks
+        String phoneNumber = user instanceof CarOwner ? ((CarOwner) user).getPhoneNumber() : null;
+        UserRepository.TakenAccountFields takenFields =
+                userRepository.findTakenAccountFields(user.getUsername(), user.getEmail(), phoneNumber);
+
         // check for unique email address
-        if (isEmailExisting(user.getEmail())) {
+        if (takenFields.getEmailTaken() != 0) {
             throw new EmailExistsException(
                     "There is already an account with that email address:" + user.getEmail());
         }
 
         // check for unique username
-        if (isUsernameExisting(user.getUsername())) {
+        if (takenFields.getUsernameTaken() != 0) {
             throw new UsernameExistsException(
                     "There is already an account with that username:" + user.getUsername());
         }
 
+        // check for unique car owner phone number
+        if (takenFields.getPhoneNumberTaken() != 0) {
+            throw new PhoneNumberExistsException(
+                    "There is already an account with that phone number:" + phoneNumber);
+        }
+
         // rewrite the password as encoded
         user.setPassword(passwordEncoder.encode(user.getPassword()));
 
@@ -114,18 +215,12 @@ public class UserDetailsService implements org.springframework.security.core.use
 
         // set roles based on user type
         if (user instanceof CarOwner) {
-            user.setRoles(new LinkedList<Role>(Arrays.asList(roleRepository.findByName("ROLE_CAR_OWNER"))));
-
-            // check for unique car owner phone number
-            if (isCarOwnerPhoneExisting(((CarOwner) user).getPhoneNumber())) {
-                throw new PhoneNumberExistsException(
-                        "There is already an account with that phone number:" + ((CarOwner) user).getPhoneNumber());
-            }
+            user.setRoles(new LinkedList<Role>(Arrays.asList(roleRegistry.getRole(RoleRegistry.ROLE_CAR_OWNER))));
         }
 
         if (user instanceof GarageEmployee) {
             GarageEmployee ge = (GarageEmployee) user;
-            user.setRoles(new LinkedList<Role>(Arrays.asList(roleRepository.findByName("ROLE_GARAGE_EMPLOYEE"))));
+            user.setRoles(new LinkedList<Role>(Arrays.asList(roleRegistry.getRole(RoleRegistry.ROLE_GARAGE_EMPLOYEE))));
 
             if (ge.getIsAdmin()) {
                 Collection<Role> roles = user.getRoles();
@@ -134,13 +229,20 @@ public class UserDetailsService implements org.springframework.security.core.use
             }
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+
+        // the new account's username, email and phone number are taken from now on
+        accountLookupCache.put("username", savedUser.getUsername(), true);
+        accountLookupCache.put("email", savedUser.getEmail(), true);
+        if (phoneNumber != null) accountLookupCache.put("phone", phoneNumber, true);
+
+        return savedUser;
     }
 
     public User updateUser(User user) {
         if (user instanceof GarageEmployee) {
             GarageEmployee ge = (GarageEmployee) user;
-            user.setRoles(new LinkedList<Role>(Arrays.asList(roleRepository.findByName("ROLE_GARAGE_EMPLOYEE"))));
+            user.setRoles(new LinkedList<Role>(Arrays.asList(roleRegistry.getRole(RoleRegistry.ROLE_GARAGE_EMPLOYEE))));
 
             if (ge.getIsAdmin()) {
                 Collection<Role> roles = user.getRoles();
@@ -149,6 +251,26 @@ public class UserDetailsService implements org.springframework.security.core.use
             }
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        accountLookupCache.put("email", savedUser.getEmail(), true);
+        userChangeTracker.userChanged(savedUser.getId());
+        return savedUser;
+    }
+
+    /**
+     * The logged in user with the version it was loaded at
+     */
+    private static final class LoggedInUser {
+        private final User user;
+        private final long version;
+
+        private LoggedInUser(User user, long version) {
+            this.user = user;
+            this.version = version;
+        }
+
+        private boolean isCurrent(GGUserDetails userDetails) {
+            return user.getId().equals(userDetails.getUserId()) && version == userDetails.getVersion();
+        }
     }
-}
\ No newline at end of file
+}
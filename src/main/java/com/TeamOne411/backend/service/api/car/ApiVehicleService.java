@@ -1,41 +1,208 @@
 package com.TeamOne411.backend.service.api.car;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.UnsupportedEncodingException;
+import javax.annotation.PostConstruct;
+import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+/**
+ * Looks up vehicle makes and models from the NHTSA vPIC API.
+ * Results are kept in a size-capped in-memory cache and saved to a snapshot file on disk that is loaded at startup.
+ * Entries older than their time to live are refreshed from the API in the background, so vehicle entry is served
+ * from memory and keeps working with the last known data when the API is down.
+ */
 @Service
 public class ApiVehicleService {
-    private RestTemplate restTemplate = new RestTemplate();
+    private static final Logger LOGGER = Logger.getLogger(ApiVehicleService.class.getName());
+    private static final String MAKES_KEY = "makes";
+    private static final String MODELS_KEY_PREFIX = "models:";
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
     private String baseUri = "https://vpic.nhtsa.dot.gov/api/";
 
+    private final Map<String, CachedList> cache;
+    private final long timeToLiveMillis;
+    private final File snapshotFile;
+
+    public ApiVehicleService(@Value("${garageguide.nhtsa.cache.max-entries:1000}") int maxEntries,
+                             @Value("${garageguide.nhtsa.cache.ttl-hours:24}") long timeToLiveHours,
+                             @Value("${garageguide.nhtsa.timeout-millis:5000}") int timeoutMillis,
+                             @Value("${garageguide.nhtsa.snapshot-file:data/nhtsa-snapshot.json}") String snapshotFile) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMillis);
+        requestFactory.setReadTimeout(timeoutMillis);
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.timeToLiveMillis = TimeUnit.HOURS.toMillis(timeToLiveHours);
+        this.snapshotFile = new File(snapshotFile);
+        this.cache = new LinkedHashMap<String, CachedList>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedList> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
 
     public List<String> getAllMakes() throws URISyntaxException {
+        return getCached(MAKES_KEY);
+    }
 
-        URI fullUri = new URI(baseUri + "vehicles/GetMakesForVehicleType/car?format=json");
-        ApiVehicleResponse carsResponse = restTemplate.getForObject(fullUri, ApiVehicleResponse.class);
+    public List<String> getModelsForMake(String make) throws URISyntaxException {
+        return getCached(MODELS_KEY_PREFIX + make);
+    }
 
-        List<ApiVehicle> cars = carsResponse.getResults();
+    /**
+     * Loads the snapshot of makes and models saved by a previous run, if there is one. Each list keeps the expiry
+     * time it was saved with, so a restart does not refetch lists that are still fresh.
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!snapshotFile.isFile()) return;
+        try {
+            JsonNode snapshot = objectMapper.readTree(snapshotFile);
+            TypeReference<List<String>> listType = new TypeReference<List<String>>() {
+            };
+            synchronized (cache) {
+                Iterator<Map.Entry<String, JsonNode>> entries = snapshot.fields();
+                while (entries.hasNext()) {
+                    Map.Entry<String, JsonNode> entry = entries.next();
+                    JsonNode node = entry.getValue();
+                    // snapshots written before the expiry time was saved hold only the values, they count as expired
+                    JsonNode values = node.isArray() ? node : node.path("values");
+                    if (!values.isArray()) continue;
+                    long expiresAt = node.path("expiresAt").asLong(0L);
+                    List<String> list = objectMapper.convertValue(values, listType);
+                    cache.put(entry.getKey(), new CachedList(Collections.unmodifiableList(list), expiresAt));
+                }
+            }
+            LOGGER.log(Level.INFO, "Loaded " + snapshot.size() + " vehicle lists from " + snapshotFile);
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Could not read vehicle snapshot " + snapshotFile, e);
+        }
+    }
 
-        return cars.stream().map(c->c.getMakeName()).collect(Collectors.toList());
+    /**
+     * Refreshes expired cache entries from the API in the background and saves the cache to the snapshot file
+     */
+    @Scheduled(initialDelayString = "${garageguide.nhtsa.refresh-initial-delay-millis:60000}",
+            fixedDelayString = "${garageguide.nhtsa.refresh-interval-millis:3600000}")
+    public void refreshExpired() {
+        List<String> expiredKeys = new ArrayList<>();
+        synchronized (cache) {
+            for (Map.Entry<String, CachedList> entry : cache.entrySet()) {
+                if (entry.getValue().isExpired()) expiredKeys.add(entry.getKey());
+            }
+            if (!cache.containsKey(MAKES_KEY)) expiredKeys.add(MAKES_KEY);
+        }
+
+        for (String key : expiredKeys) {
+            try {
+                put(key, fetch(key));
+            } catch (URISyntaxException | RestClientException e) {
+                LOGGER.log(Level.WARNING, "Could not refresh vehicle list " + key + ": " + e.getMessage());
+            }
+        }
+        saveSnapshot();
     }
-    public List<String> getModelsForMake(String make) throws URISyntaxException {
 
-        String encodedMake = make.replace(" ", "_");
+    /**
+     * Returns a list from the cache, only calling the API if the list has never been fetched.
+     * Expired lists are still served and get replaced by the background refresh.
+     */
+    private List<String> getCached(String key) throws URISyntaxException {
+        CachedList cached;
+        synchronized (cache) {
+            cached = cache.get(key);
+        }
+        if (cached != null) return cached.values;
 
-        URI fullUri = new URI(baseUri + "vehicles/GetModelsForMake/" + encodedMake + "?format=json");
+        List<String> values = fetch(key);
+        put(key, values);
+        return values;
+    }
+
+    private void put(String key, List<String> values) {
+        synchronized (cache) {
+            cache.put(key, new CachedList(values, System.currentTimeMillis() + timeToLiveMillis));
+        }
+    }
+
+    private List<String> fetch(String key) throws URISyntaxException {
+        URI fullUri;
+        if (key.equals(MAKES_KEY)) {
+            fullUri = new URI(baseUri + "vehicles/GetMakesForVehicleType/car?format=json");
+        } else {
+            String encodedMake = key.substring(MODELS_KEY_PREFIX.length()).replace(" ", "_");
+            fullUri = new URI(baseUri + "vehicles/GetModelsForMake/" + encodedMake + "?format=json");
+        }
         ApiVehicleResponse carsResponse = restTemplate.getForObject(fullUri, ApiVehicleResponse.class);
 
-        List<ApiVehicle> cars = carsResponse.getResults();
+        List<ApiVehicle> cars = carsResponse == null || carsResponse.getResults() == null
+                ? Collections.<ApiVehicle>emptyList() : carsResponse.getResults();
+
+        if (key.equals(MAKES_KEY)) {
+            return Collections.unmodifiableList(cars.stream().map(c -> c.getMakeName()).collect(Collectors.toList()));
+        }
+        return Collections.unmodifiableList(cars.stream().map(c -> c.getModelName()).collect(Collectors.toList()));
+    }
+
+    /**
+     * Writes the cached lists to the snapshot file, via a temporary file so a crash never leaves a partial snapshot
+     */
+    private void saveSnapshot() {
+        Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+        synchronized (cache) {
+            for (Map.Entry<String, CachedList> entry : cache.entrySet()) {
+                Map<String, Object> snapshotEntry = new LinkedHashMap<>();
+                snapshotEntry.put("values", entry.getValue().values);
+                snapshotEntry.put("expiresAt", entry.getValue().expiresAt);
+                snapshot.put(entry.getKey(), snapshotEntry);
+            }
+        }
+        if (snapshot.isEmpty()) return;
+
+        try {
+            Path target = snapshotFile.toPath().toAbsolutePath();
+            Files.createDirectories(target.getParent());
+            Path temp = Paths.get(target + ".tmp");
+            objectMapper.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write vehicle snapshot " + snapshotFile, e);
+        }
+    }
+
+    private static class CachedList {
+        private final List<String> values;
+        private final long expiresAt;
 
-        return cars.stream().map(c->c.getModelName()).collect(Collectors.toList());
+        CachedList(List<String> values, long expiresAt) {
+            this.values = values;
+            this.expiresAt = expiresAt;
+        }
 
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
     }
 }
@@ -0,0 +1,7 @@
+package com.TeamOne411.backend.service.exceptions;
+
+public class TimeSlotUnavailableException extends Exception {
+    public TimeSlotUnavailableException(String message) {
+        super(message);
+    }
+}
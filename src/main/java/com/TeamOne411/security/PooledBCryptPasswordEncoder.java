@@ -0,0 +1,105 @@
+package com.TeamOne411.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt password encoder that hashes on a small, dedicated thread pool, so at most one hash per pool thread is
+ * computed at a time and a burst of logins or registrations can not take every CPU.
+ * The calling request thread still waits for its hash, so up to threads + queue capacity servlet threads can be
+ * parked here, each for at most the timeout. Keep that well below the servlet container's thread pool (200 threads
+ * for Tomcat by default); requests beyond it are rejected straight away instead of piling up.
+ * <p>
+ * Hashes made with a different cost than the configured strength report that they need upgrading, so the
+ * DaoAuthenticationProvider rehashes a user's password on their next successful login.
+ */
+public class PooledBCryptPasswordEncoder implements PasswordEncoder {
+    public static final String EXECUTOR_NAME = "passwordHashing";
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Counter rejections;
+
+    /**
+     * @param strength      the BCrypt log rounds, 4 to 31
+     * @param threads       the number of passwords hashed at the same time
+     * @param queueCapacity the number of hashing requests allowed to wait for a thread
+     * @param timeoutMillis how long a request waits for its hash before failing
+     * @param meterRegistry registry for the pool and queue metrics
+     */
+    public PooledBCryptPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMillis,
+                                       MeterRegistry meterRegistry) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("PasswordHashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejections = meterRegistry.counter("garageguide.password.hashing.rejected", "executor", EXECUTOR_NAME);
+
+        // active threads, queue depth and task timings of the hashing pool
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) return false;
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    /**
+     * Stops the hashing threads, called by Spring when the context closes
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new AuthenticationServiceException("Too many password checks in progress, please try again", e);
+        }
+
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            throw new AuthenticationServiceException("Password check timed out, please try again", e);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Password check was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
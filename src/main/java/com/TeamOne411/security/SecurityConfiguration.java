@@ -1,6 +1,9 @@
 package com.TeamOne411.security;
 
+import com.TeamOne411.backend.service.RoleRegistry;
 import com.TeamOne411.backend.service.UserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -8,7 +11,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 
 @EnableWebSecurity
@@ -21,14 +24,36 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     private static final String LOGIN_URL = "/login";
     private static final String LOGOUT_SUCCESS_URL = "/login";
 
+    // password hashing settings, see PooledBCryptPasswordEncoder
+    @Value("${garageguide.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    // 0 = one hashing thread per available processor
+    @Value("${garageguide.password.hashing-threads:0}")
+    private int hashingThreads;
+
+    @Value("${garageguide.password.hashing-queue-capacity:16}")
+    private int hashingQueueCapacity;
+
+    @Value("${garageguide.password.hashing-timeout-millis:2000}")
+    private long hashingTimeoutMillis;
+
+    private final MeterRegistry meterRegistry;
+
+    public SecurityConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         return new UserDetailsService();
     }
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new PooledBCryptPasswordEncoder(bcryptStrength, threads, hashingQueueCapacity, hashingTimeoutMillis,
+                meterRegistry);
     }
 
     @Bean
@@ -36,6 +61,8 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
+        // rehashes passwords on login when their BCrypt cost differs from the configured strength
+        authProvider.setUserDetailsPasswordService(userDetailsService());
 
         return authProvider;
     }
@@ -54,6 +81,9 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
                     .requestMatchers(SecurityUtils::isFrameworkInternalRequest).permitAll()
                     // allow unauthorized access to front page and register
                     .antMatchers("/", "/register").permitAll()
+                    // the metrics are for the site admins only, the health check stays open to logged in users
+                    .antMatchers("/actuator/health").authenticated()
+                    .antMatchers("/actuator/**").hasAuthority(RoleRegistry.ROLE_GG_ADMIN)
                     // allow all authentication users access to any request
                     // todo add rules
                     .anyRequest().authenticated()
@@ -42,6 +42,21 @@ public final class SecurityUtils {
                 .anyMatch(allowedRoles::contains);
     }
 
+    /**
+     * Checks the logged in user's granted authorities, without loading the user
+     *
+     * @param roles the role names, e.g. ROLE_CAR_OWNER
+     * @return true if the logged in user has any of the roles
+     */
+    public static boolean hasAnyRole(String... roles) {
+        Authentication userAuthentication = SecurityContextHolder.getContext().getAuthentication();
+        if (userAuthentication == null) return false;
+        List<String> wantedRoles = Arrays.asList(roles);
+        return userAuthentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch(wantedRoles::contains);
+    }
+
     public static boolean isUserLoggedIn() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         return authentication != null
@@ -0,0 +1,30 @@
+package com.TeamOne411.ui.utils;
+
+import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
+import com.TeamOne411.backend.service.GarageService;
+import com.vaadin.flow.data.binder.Result;
+import com.vaadin.flow.data.binder.ValueContext;
+import com.vaadin.flow.data.converter.Converter;
+
+/**
+ * This class converts between the GarageSummary picked in a garage combobox and the Garage of the bound entity,
+ * so the combobox can be filled with summaries instead of loading every garage
+ */
+public class GarageSummaryConverter implements Converter<GarageSummary, Garage> {
+    private final GarageService garageService;
+
+    public GarageSummaryConverter(GarageService garageService) {
+        this.garageService = garageService;
+    }
+
+    @Override
+    public Result<Garage> convertToModel(GarageSummary garageSummary, ValueContext context) {
+        return Result.ok(garageService.getReference(garageSummary));
+    }
+
+    @Override
+    public GarageSummary convertToPresentation(Garage garage, ValueContext context) {
+        return GarageSummary.of(garage);
+    }
+}
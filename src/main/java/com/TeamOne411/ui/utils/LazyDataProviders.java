@@ -0,0 +1,110 @@
+package com.TeamOne411.ui.utils;
+
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * This class builds lazy data providers for grids backed by paged repository queries.
+ * The grid only asks for the rows it is showing, so a table is never loaded into the session as a whole.
+ */
+public class LazyDataProviders {
+
+    /**
+     * Builds a data provider that fetches one window of rows at a time, sorted and filtered by the database
+     *
+     * @param fetch the service call returning the rows matching a filter text for a page request
+     * @param count the service call returning the number of rows matching a filter text
+     * @param <T>   the grid item type
+     * @return a data provider whose filter text is set with setFilter
+     */
+    public static <T> ConfigurableFilterDataProvider<T, Void, String> fromPagedQueries(
+            BiFunction<String, Pageable, List<T>> fetch, Function<String, Long> count) {
+        DataProvider<T, String> dataProvider = DataProvider.fromFilteringCallbacks(
+                query -> fetch.apply(getFilterText(query), toPageable(query)).stream(),
+                query -> Math.toIntExact(count.apply(getFilterText(query))));
+        return dataProvider.withConfigurableFilter();
+    }
+
+    /**
+     * Converts the offset, limit and sort orders of a grid query to a Spring Data page request
+     */
+    public static Pageable toPageable(Query<?, ?> query) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (QuerySortOrder sortOrder : query.getSortOrders()) {
+            orders.add(sortOrder.getDirection() == SortDirection.DESCENDING
+                    ? Sort.Order.desc(sortOrder.getSorted())
+                    : Sort.Order.asc(sortOrder.getSorted()));
+        }
+        return new OffsetPageRequest(query.getOffset(), query.getLimit(), Sort.by(orders));
+    }
+
+    private static String getFilterText(Query<?, String> query) {
+        return query.getFilter().map(String::trim).orElse("");
+    }
+
+    /**
+     * A page request starting at any row offset. The grid asks for windows that do not line up with page boundaries,
+     * which a plain PageRequest of page number and size can not express.
+     */
+    private static class OffsetPageRequest implements Pageable {
+        private final long offset;
+        private final int limit;
+        private final Sort sort;
+
+        OffsetPageRequest(long offset, int limit, Sort sort) {
+            this.offset = offset;
+            this.limit = Math.max(1, limit);
+            this.sort = sort;
+        }
+
+        @Override
+        public int getPageNumber() {
+            return (int) (offset / limit);
+        }
+
+        @Override
+        public int getPageSize() {
+            return limit;
+        }
+
+        @Override
+        public long getOffset() {
+            return offset;
+        }
+
+        @Override
+        public Sort getSort() {
+            return sort;
+        }
+
+        @Override
+        public Pageable next() {
+            return new OffsetPageRequest(offset + limit, limit, sort);
+        }
+
+        @Override
+        public Pageable previousOrFirst() {
+            return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - limit), limit, sort) : first();
+        }
+
+        @Override
+        public Pageable first() {
+            return new OffsetPageRequest(0, limit, sort);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return offset > 0;
+        }
+    }
+}
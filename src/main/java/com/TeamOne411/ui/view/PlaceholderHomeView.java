@@ -1,8 +1,6 @@
 package com.TeamOne411.ui.view;
 
-import com.TeamOne411.backend.entity.users.CarOwner;
-import com.TeamOne411.backend.entity.users.GarageEmployee;
-import com.TeamOne411.backend.entity.users.User;
+import com.TeamOne411.backend.service.RoleRegistry;
 import com.TeamOne411.backend.service.UserDetailsService;
 import com.TeamOne411.security.SecurityUtils;
 import com.TeamOne411.ui.MainLayout;
@@ -33,13 +31,12 @@ public class PlaceholderHomeView extends VerticalLayout implements BeforeEnterOb
 
     @Override
     public void beforeEnter(BeforeEnterEvent beforeEnterEvent) {
-        if (SecurityUtils.isUserLoggedIn()) {
-            User loggedInUser = userDetailsService.getLoggedInUserDetails().getUser();
-
+        // refreshes the principal if the user was changed, its roles pick the home view so the user is not loaded
+        if (SecurityUtils.isUserLoggedIn() && userDetailsService.getLoggedInUserDetails() != null) {
             // reroute logged in user to their relevant home view
-            if (loggedInUser instanceof GarageEmployee) {
+            if (SecurityUtils.hasAnyRole(RoleRegistry.ROLE_GARAGE_EMPLOYEE, RoleRegistry.ROLE_GARAGE_ADMIN)) {
                 beforeEnterEvent.rerouteTo(GarageEmployeeHomeView.class);
-            } else if (loggedInUser instanceof CarOwner) {
+            } else if (SecurityUtils.hasAnyRole(RoleRegistry.ROLE_CAR_OWNER)) {
                 beforeEnterEvent.rerouteTo(CarOwnerHomeView.class);
             }
         }
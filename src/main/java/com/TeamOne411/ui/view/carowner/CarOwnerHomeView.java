@@ -1,7 +1,6 @@
 package com.TeamOne411.ui.view.carowner;
 
 import com.TeamOne411.backend.entity.users.CarOwner;
-import com.TeamOne411.backend.entity.users.GGUserDetails;
 import com.TeamOne411.backend.service.*;
 import com.TeamOne411.backend.service.api.car.ApiVehicleService;
 import com.TeamOne411.ui.MainLayout;
@@ -27,7 +26,6 @@ import java.util.Map;
 @Secured("ROLE_CAR_OWNER")
 @PageTitle("Garage Guide")
 public class CarOwnerHomeView extends VerticalLayout {
-    private GGUserDetails userDetails;
     private CarOwner loggedInCarOwner;
     private ApiVehicleService apiVehicleService;
 
@@ -36,9 +34,10 @@ public class CarOwnerHomeView extends VerticalLayout {
                             ApiVehicleService apiVehicleService,
                             AppointmentService appointmentService,
                             ServiceCatalogService serviceCatalogService,
-                            GarageCalendarService garageCalendarService) {
-        userDetails = userDetailsService.getLoggedInUserDetails();
-        loggedInCarOwner = (CarOwner) userDetails.getUser();
+                            GarageCalendarService garageCalendarService,
+                            GarageService garageService,
+                            SlotSearchService slotSearchService) {
+        loggedInCarOwner = (CarOwner) userDetailsService.getLoggedInUser();
         this.apiVehicleService = apiVehicleService;
         add(new H2("Welcome back " + loggedInCarOwner.getFirstName()));
 
@@ -51,7 +50,8 @@ public class CarOwnerHomeView extends VerticalLayout {
          */
         Tab appointmentsTab = new Tab("Appointments");
         CarOwnerAppointmentsView appointmentsView = new CarOwnerAppointmentsView(appointmentService,
-                serviceCatalogService, garageCalendarService, vehicleService, loggedInCarOwner);
+                serviceCatalogService, garageCalendarService, garageService, slotSearchService, vehicleService,
+                loggedInCarOwner);
         Div appointmentsPage = new Div(appointmentsView);
         appointmentsTab.add(appointmentsPage);
         tabs.add(appointmentsTab);
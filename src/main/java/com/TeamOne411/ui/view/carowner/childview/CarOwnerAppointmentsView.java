@@ -7,6 +7,7 @@ import com.TeamOne411.backend.entity.users.CarOwner;
 import com.TeamOne411.backend.service.*;
 import com.TeamOne411.ui.utils.FormattingUtils;
 import com.TeamOne411.ui.view.carowner.form.AppointmentDialog;
+import com.TeamOne411.ui.view.carowner.form.RescheduleAppointmentDialog;
 import com.TeamOne411.ui.view.carowner.form.VehicleHistoryDialog;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.button.Button;
@@ -30,25 +31,30 @@ import com.vaadin.flow.component.splitlayout.SplitLayout;
  */
 public class CarOwnerAppointmentsView extends VerticalLayout {
     private final AppointmentService appointmentService;
+    private final GarageCalendarService garageCalendarService;
     private final Grid<Appointment> appointmentsToday = new Grid<>(Appointment.class);
     private final Grid<Appointment> upcomingAppointments = new Grid<>(Appointment.class);
     private final H5 noAppointmentsToday = new H5("You do not have any appointments scheduled for today");
     private final H5 noUpcomingAppointments = new H5("You do not have any upcoming appointments scheduled");
     private final CarOwner carOwner;
     private AppointmentDialog appointmentDialog;
+    private RescheduleAppointmentDialog rescheduleAppointmentDialog;
 
     public CarOwnerAppointmentsView(AppointmentService appointmentService,
                                     ServiceCatalogService serviceCatalogService,
                                     GarageCalendarService garageCalendarService,
+                                    GarageService garageService,
+                                    SlotSearchService slotSearchService,
                                     VehicleService vehicleService,
                                     CarOwner carOwner) {
         this.appointmentService = appointmentService;
+        this.garageCalendarService = garageCalendarService;
         this.carOwner = carOwner;
 
         // new appointment button setup and click listener
         Button newAppointment = new Button("Schedule New Appointment");
         newAppointment.addClickListener(e -> showAppointmentDialog(serviceCatalogService, garageCalendarService,
-                vehicleService, carOwner));
+                garageService, slotSearchService, vehicleService, carOwner));
 
         // H5 message setup
         noAppointmentsToday.setVisible(false);
@@ -88,6 +94,8 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
                 .format(appointment.getAppointmentDate())).setHeader("Date").setKey("appointmentDate").setSortable(false);
         upcomingAppointments.addColumn(appointment -> FormattingUtils.HOUR_FORMATTER
                 .format(appointment.getAppointmentTime())).setHeader("Time").setKey("appointmentTime").setSortable(false);
+        upcomingAppointments.addComponentColumn(this::rescheduleButton).setHeader("Reschedule")
+                .setTextAlign(ColumnTextAlign.CENTER);
         upcomingAppointments.addComponentColumn(this::cancelButton).setHeader("Cancel")
                 .setTextAlign(ColumnTextAlign.CENTER);
         upcomingAppointments.getColumns().forEach(col -> col.setAutoWidth(true));
@@ -119,8 +127,7 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
         add(newAppointment, splitLayout);
 
         // populate the grids
-        updateTodayGrid();
-        updateUpcomingGrid();
+        updateAppointmentGrids();
     }
 
     /**
@@ -134,31 +141,18 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
     }
 
     /**
-     * refreshes the appointments today grid
+     * refreshes the appointments today and upcoming appointments grids from one dashboard query
      */
-    private void updateTodayGrid() {
-        if (appointmentService.findAllAppointmentsForToday(carOwner).isEmpty()) {
-            appointmentsToday.setVisible(false);
-            noAppointmentsToday.setVisible(true);
-        } else {
-            appointmentsToday.setItems(appointmentService.findAllAppointmentsForToday(carOwner));
-            appointmentsToday.setVisible(true);
-            noAppointmentsToday.setVisible(false);
-        }
-    }
+    private void updateAppointmentGrids() {
+        AppointmentDashboard dashboard = appointmentService.getCarOwnerDashboard(carOwner);
 
-    /**
-     * refreshes the upcoming appointments grid
-     */
-    private void updateUpcomingGrid() {
-        if (appointmentService.findAllUpcomingAppointments(carOwner).isEmpty()) {
-            upcomingAppointments.setVisible(false);
-            noUpcomingAppointments.setVisible(true);
-        } else {
-            upcomingAppointments.setItems(appointmentService.findAllUpcomingAppointments(carOwner));
-            upcomingAppointments.setVisible(true);
-            noUpcomingAppointments.setVisible(false);
-        }
+        appointmentsToday.setItems(dashboard.getTodayAppointments());
+        appointmentsToday.setVisible(dashboard.getTodayCount() > 0);
+        noAppointmentsToday.setVisible(dashboard.getTodayCount() == 0);
+
+        upcomingAppointments.setItems(dashboard.getUpcomingAppointments());
+        upcomingAppointments.setVisible(dashboard.getUpcomingCount() > 0);
+        noUpcomingAppointments.setVisible(dashboard.getUpcomingCount() == 0);
     }
 
     /**
@@ -183,6 +177,46 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
         verticalLayout.setWidth(width);
     }
 
+    /**
+     * Creates the reschedule icon button for each row in the grid
+     *
+     * @param appointment the Appointment instance the icon button is associated with
+     * @return the icon button to be returned
+     */
+    private Button rescheduleButton(Appointment appointment) {
+        return new Button(VaadinIcon.CALENDAR_CLOCK.create(), buttonClickEvent ->
+                showRescheduleAppointmentDialog(appointment));
+    }
+
+    /**
+     * Opens the reschedule appointment dialog for the selected appointment
+     */
+    private void showRescheduleAppointmentDialog(Appointment appointment) {
+        rescheduleAppointmentDialog = new RescheduleAppointmentDialog(appointmentService, garageCalendarService,
+                appointment);
+        rescheduleAppointmentDialog.addListener(RescheduleAppointmentDialog.SaveSuccessEvent.class,
+                this::onReschedule);
+        rescheduleAppointmentDialog.open();
+    }
+
+    /**
+     * Fired when the appointment has been moved. Closes the dialog and refreshes the grids.
+     *
+     * @param event the event that fired this method
+     */
+    private void onReschedule(ComponentEvent<RescheduleAppointmentDialog> event) {
+        rescheduleAppointmentDialog.close();
+        updateAppointmentGrids();
+
+        Notification notification = new Notification(
+                "Your appointment has been rescheduled.",
+                4000,
+                Notification.Position.TOP_END
+        );
+        notification.addThemeVariants(NotificationVariant.LUMO_SUCCESS);
+        notification.open();
+    }
+
     /**
      * Creates the cancel icon button for each row in the grid
      *
@@ -217,8 +251,7 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
      */
     private void onCancelConfirm(Appointment appointment) {
         if (appointment != null) {
-            appointmentService.deleteAppointmentTasks(appointment);
-            appointmentService.deleteAppointment(appointment);
+            appointmentService.cancelAppointment(appointment);
             String successMessage = "Your appointment has been cancelled.";
             Notification notification = new Notification(
                     successMessage,
@@ -227,7 +260,7 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
             );
             notification.open();
         }
-        updateUpcomingGrid();
+        updateAppointmentGrids();
     }
 
     /**
@@ -235,10 +268,12 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
      */
     private void showAppointmentDialog(ServiceCatalogService serviceCatalogService,
                                        GarageCalendarService garageCalendarService,
+                                       GarageService garageService,
+                                       SlotSearchService slotSearchService,
                                        VehicleService vehicleService,
                                        CarOwner carOwner) {
         appointmentDialog = new AppointmentDialog(appointmentService, serviceCatalogService,
-                garageCalendarService, vehicleService, carOwner);
+                garageCalendarService, garageService, slotSearchService, vehicleService, carOwner);
         appointmentDialog.setWidth("50%");
         appointmentDialog.setHeightFull();
         appointmentDialog.addListener(AppointmentDialog.SaveSuccessEvent.class,
@@ -253,8 +288,7 @@ public class CarOwnerAppointmentsView extends VerticalLayout {
      */
     private void onSave(ComponentEvent<AppointmentDialog> event) {
         appointmentDialog.close();
-        updateUpcomingGrid();
-        updateTodayGrid();
+        updateAppointmentGrids();
 
         String successMessage = "Your appointment has been booked. Thank you for using Garage Guide.";
         Notification notification = new Notification(
@@ -19,9 +19,12 @@ public class AppointmentDialog extends Dialog {
     private final AppointmentForm appointmentForm;
 
     public AppointmentDialog(AppointmentService appointmentService, ServiceCatalogService serviceCatalogService,
-                             GarageCalendarService garageCalendarService, VehicleService vehicleService, CarOwner carOwner) {
+                             GarageCalendarService garageCalendarService, GarageService garageService,
+                             SlotSearchService slotSearchService, VehicleService vehicleService,
+                             CarOwner carOwner) {
 
-        appointmentForm = new AppointmentForm(serviceCatalogService, garageCalendarService, appointmentService, vehicleService, carOwner);
+        appointmentForm = new AppointmentForm(serviceCatalogService, garageCalendarService, garageService,
+                slotSearchService, appointmentService, vehicleService, carOwner);
         appointmentForm.addListener(AppointmentForm.CancelEvent.class, this::onCancelClick);
         appointmentForm.addListener(AppointmentForm.SaveEvent.class, this::onSaveClick);
 
@@ -53,10 +56,10 @@ public class AppointmentDialog extends Dialog {
      * @param event event that occurred
      */
     private void onSaveClick(ComponentEvent event) {
-        //calls the appointment form to save the appointment
-        appointmentForm.completeAppointment();
-
-        fireEvent(new AppointmentDialog.SaveSuccessEvent(this));
+        //calls the appointment form to save the appointment, the dialog stays open if the time slots were taken
+        if (appointmentForm.completeAppointment()) {
+            fireEvent(new AppointmentDialog.SaveSuccessEvent(this));
+        }
     }
 
     @Override
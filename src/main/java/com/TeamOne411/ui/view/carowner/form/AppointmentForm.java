@@ -1,15 +1,21 @@
 package com.TeamOne411.ui.view.carowner.form;
 
 import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
 import com.TeamOne411.backend.entity.Vehicle;
 import com.TeamOne411.backend.entity.schedule.Appointment;
+import com.TeamOne411.backend.entity.schedule.DayAvailability;
 import com.TeamOne411.backend.entity.servicecatalog.OfferedService;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
 import com.TeamOne411.backend.entity.users.CarOwner;
 import com.TeamOne411.backend.service.AppointmentService;
+import com.TeamOne411.backend.service.AvailableSlot;
 import com.TeamOne411.backend.service.GarageCalendarService;
+import com.TeamOne411.backend.service.GarageService;
 import com.TeamOne411.backend.service.ServiceCatalogService;
+import com.TeamOne411.backend.service.SlotSearchService;
 import com.TeamOne411.backend.service.VehicleService;
+import com.TeamOne411.backend.service.exceptions.TimeSlotUnavailableException;
 import com.TeamOne411.ui.utils.FormattingUtils;
 import com.TeamOne411.ui.utils.LocalDateConverter;
 import com.TeamOne411.ui.utils.LocalTimeConverter;
@@ -39,7 +45,9 @@ import java.text.DecimalFormat;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -47,15 +55,21 @@ import java.util.Set;
  */
 @SuppressWarnings("rawtypes")
 public class AppointmentForm extends VerticalLayout {
+    private static final int MAX_GARAGE_MATCHES = 20;
+    private static final int MAX_EARLIEST_SLOTS = 10;
+
     private final ServiceCatalogService serviceCatalogService;
     private final GarageCalendarService garageCalendarService;
+    private final GarageService garageService;
     private final AppointmentService appointmentService;
     private final Appointment appointment = new Appointment();
     private final Text confirmPrice = new Text("");
     private final TextArea carOwnerComments = new TextArea("Is there anything else you'd like us to know?");
     private final Button saveButton = new Button("Book Appointment");
-    private final ComboBox<Garage> garage = new ComboBox<>("Select Garage");
+    private final ComboBox<GarageSummary> garage = new ComboBox<>("Select Garage");
     private final ComboBox<Vehicle> vehicle = new ComboBox<>("Select Vehicle");
+    private final ComboBox<AvailableSlot> earliestSlot = new ComboBox<>("Or Pick One of the Earliest Openings");
+    private final Button findEarliestSlotsButton = new Button("Find Earliest Openings");
     private final Grid<OfferedService> offeredServicesGrid = new Grid<>(OfferedService.class);
     private final ComboBox<LocalDate> appointmentDate = new ComboBox<>("Select Appointment Date");
     private final ComboBox<LocalTime> appointmentTime = new ComboBox<>("Select Appointment Time");
@@ -64,13 +78,16 @@ public class AppointmentForm extends VerticalLayout {
     private final Text confirmDateTime = new Text("");
     private final LocalTimeConverter localTimeConverter = new LocalTimeConverter();
     private final LocalDateConverter localDateConverter = new LocalDateConverter();
+    private Garage selectedGarage;
     private Duration estimatedDuration;
     private BigDecimal estimatedTotalPrice;
 
     public AppointmentForm(ServiceCatalogService serviceCatalogService, GarageCalendarService garageCalendarService,
+                           GarageService garageService, SlotSearchService slotSearchService,
                            AppointmentService appointmentService, VehicleService vehicleService, CarOwner carOwner) {
         this.serviceCatalogService = serviceCatalogService;
         this.garageCalendarService = garageCalendarService;
+        this.garageService = garageService;
         this.appointmentService = appointmentService;
 
         addClassName("appointment-form");
@@ -88,10 +105,22 @@ public class AppointmentForm extends VerticalLayout {
         garageForm.add(vehicle, garage);
         vehicle.setItems(vehicleService.findByCarOwner(carOwner));
         vehicle.setItemLabelGenerator(this::concatVehicleInfo);
-        garage.setItems(garageCalendarService.findAllByGarageExists());
-        garage.setItemLabelGenerator(Garage::getCompanyName);
+        // only the best matches for the typed text are sent to the browser, preferred garages first
+        Set<Long> preferredGarageIds = garageService.findPreferredGarageIds(carOwner);
+        garage.setDataProvider(
+                (filter, offset, limit) -> garageService
+                        .searchBookableGarages(filter, preferredGarageIds, MAX_GARAGE_MATCHES).stream()
+                        .skip(offset).limit(limit),
+                filter -> garageService.searchBookableGarages(filter, preferredGarageIds, MAX_GARAGE_MATCHES).size());
+        garage.setItemLabelGenerator(summary -> summary.getCompanyName() + " - " + summary.getAddress());
         setRequiredComboBoxValues(vehicle);
         setRequiredComboBoxValues(garage);
+        // the earliest start times across all garages, picking one fills in the garage, date and time
+        garageForm.add(earliestSlot, findEarliestSlotsButton);
+        earliestSlot.setEnabled(false);
+        earliestSlot.setItemLabelGenerator(slot -> FormattingUtils.convertDate(slot.getDate()) + " "
+                + FormattingUtils.convertTime(slot.getStartTime()) + " - " + slot.getGarage().getCompanyName());
+        findEarliestSlotsButton.addClickListener(e -> findEarliestSlots(slotSearchService));
         accordion.add("Vehicle and Garage Information", garageForm);
 
         // OFFERED SERVICES
@@ -126,11 +155,29 @@ public class AppointmentForm extends VerticalLayout {
 
         // CLICK LISTENERS
         garage.addValueChangeListener(e -> {
+            // the queries below and the booking only need the garage's id, so the garage itself is never loaded
+            Garage newGarage = garageService.getReference(garage.getValue());
+            // the previous garage's services are deselected first with no garage set, so the selection listener
+            // does not look up the dates and they are only set once below
+            selectedGarage = null;
+            offeredServicesGrid.deselectAll();
+            selectedGarage = newGarage;
             setOfferedServicesGrid();
             setAppointmentDate();
             confirmGarage.setText("Selected Garage: " + garage.getValue().getCompanyName());
         });
-        offeredServicesGrid.asMultiSelect().addValueChangeListener(e -> totalPrice());
+        offeredServicesGrid.asMultiSelect().addValueChangeListener(e -> {
+            totalPrice();
+            // the start times offered depend on how long the selected services take
+            if (selectedGarage != null) setAppointmentDate();
+        });
+        earliestSlot.addValueChangeListener(e -> {
+            AvailableSlot slot = earliestSlot.getValue();
+            if (slot == null) return;
+            garage.setValue(slot.getGarage());
+            appointmentDate.setValue(slot.getDate());
+            appointmentTime.setValue(slot.getStartTime());
+        });
         appointmentDate.addValueChangeListener(e -> setAppointmentTime());
         appointmentTime.addValueChangeListener(e ->
                 confirmDateTime.setText("Appointment Date & Time: " + FormattingUtils.convertDate(appointmentDate.getValue()) +
@@ -166,11 +213,27 @@ public class AppointmentForm extends VerticalLayout {
         comboBox.setRequiredIndicatorVisible(true);
     }
 
+    /**
+     * Lists the earliest openings of all garages. The services are picked after the garage, so the search is for a
+     * single time slot; the start times offered once the services are picked are checked against their duration.
+     */
+    private void findEarliestSlots(SlotSearchService slotSearchService) {
+        List<AvailableSlot> slots = slotSearchService.findEarliestSlots(
+                Duration.ofMinutes(DayAvailability.SLOT_MINUTES), null, MAX_EARLIEST_SLOTS);
+        earliestSlot.setItems(slots);
+        earliestSlot.setEnabled(!slots.isEmpty());
+        if (slots.isEmpty()) {
+            Notification notification = new Notification("There are no openings in the next three months",
+                    3000, Notification.Position.TOP_CENTER);
+            notification.open();
+        }
+    }
+
     /**
      * Sets the offeredServicesGrid contents once a garage has been selected
      */
     private void setOfferedServicesGrid() {
-        offeredServicesGrid.setItems(serviceCatalogService.findByServiceCategory_Garage(garage.getValue()));
+        offeredServicesGrid.setItems(serviceCatalogService.findByServiceCategory_Garage(selectedGarage));
         offeredServicesGrid.setVisible(true);
         offeredServicesGrid.removeAllColumns();
         offeredServicesGrid.addColumn(offeredService -> {
@@ -244,44 +307,70 @@ public class AppointmentForm extends VerticalLayout {
     }
 
     /**
-     * Sets the appointmentDate combobox once the user has selected a garage
+     * Sets the appointmentDate combobox once the user has selected a garage or changed the selected services.
+     * Only dates the appointment fits on are offered, and the picked date is kept if it is still one of them.
      */
     private void setAppointmentDate() {
+        LocalDate previousDate = appointmentDate.getValue();
+        List<LocalDate> dates = garageCalendarService.findStartDatesByGarage(selectedGarage, estimatedDuration);
         appointmentDate.setEnabled(true);
-        appointmentDate.setItems(garageCalendarService.findStartDatesByGarage(garage.getValue()));
+        appointmentDate.setItems(dates);
         appointmentDate.setItemLabelGenerator(localDateConverter::encode);
+        if (previousDate != null && dates.contains(previousDate)) {
+            // the value change listener sets the start times
+            appointmentDate.setValue(previousDate);
+        }
     }
 
     /**
-     * Sets the appointmentTime combobox once the user has selected an appointmentDate
+     * Sets the appointmentTime combobox once the user has picked an appointmentDate.
+     * Only start times with enough consecutive free time slots for the selected services are offered,
+     * and the picked time is kept if it is still one of them.
      */
     private void setAppointmentTime() {
+        LocalTime previousTime = appointmentTime.getValue();
+        if (appointmentDate.getValue() == null) {
+            appointmentTime.setItems(new ArrayList<>());
+            return;
+        }
         // set the time slots once the user has picked a desired appointment date
+        List<LocalTime> times = garageCalendarService
+                .findStartTimesByGarageAndDate(selectedGarage, appointmentDate.getValue(), estimatedDuration);
         appointmentTime.setEnabled(true);
-        appointmentTime.setItems(garageCalendarService
-                .findStartTimesByGarageAndDate(garage.getValue(), appointmentDate.getValue()));
+        appointmentTime.setItems(times);
         appointmentTime.setItemLabelGenerator(localTimeConverter::encode);
+        if (previousTime != null && times.contains(previousTime)) appointmentTime.setValue(previousTime);
     }
 
     /**
-     * Saves the appointment and starts async background tasks to create appointment tasks and fill slots
+     * Books the appointment - reserves the time slots and saves the appointment with its tasks in one go.
+     * If the time slots were taken in the meantime the user is asked to pick another time.
+     *
+     * @return true if the appointment was booked
      */
-    public void completeAppointment() {
+    public boolean completeAppointment() {
         //set appointment values
         appointment.setAppointmentDate(appointmentDate.getValue());
         appointment.setAppointmentTime(appointmentTime.getValue());
-        appointment.setGarage(garage.getValue());
+        appointment.setGarage(selectedGarage);
         appointment.setVehicle(vehicle.getValue());
         appointment.setCarOwnerComments(carOwnerComments.getValue());
         appointment.setEstimatedDuration(estimatedDuration);
         appointment.setEstimatedTotalPrice(estimatedTotalPrice);
 
-        // save the appointment to the db
-        appointmentService.saveAppointment(appointment);
-
-        // create the appointment tasks via async background process & fill time slots
-        appointmentService.createAppointmentTasks(appointment, offeredServicesGrid.getSelectedItems());
-        garageCalendarService.fillTimeSlots(appointment);
+        try {
+            appointmentService.bookAppointment(appointment, offeredServicesGrid.getSelectedItems());
+        } catch (TimeSlotUnavailableException e) {
+            Notification notification = new Notification(
+                    "Sorry, that appointment time is no longer available. Please select another time.",
+                    4000, Notification.Position.TOP_CENTER);
+            notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
+            notification.open();
+            confirmationCheckbox.setValue(false);
+            setAppointmentTime();
+            return false;
+        }
+        return true;
     }
 
     @Override
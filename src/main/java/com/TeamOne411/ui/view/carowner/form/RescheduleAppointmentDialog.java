@@ -0,0 +1,75 @@
+package com.TeamOne411.ui.view.carowner.form;
+
+import com.TeamOne411.backend.entity.schedule.Appointment;
+import com.TeamOne411.backend.service.AppointmentService;
+import com.TeamOne411.backend.service.GarageCalendarService;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.shared.Registration;
+
+/**
+ * This dialog controls the opening and closing of the reschedule appointment form
+ */
+@SuppressWarnings("rawtypes")
+public class RescheduleAppointmentDialog extends Dialog {
+    private final RescheduleAppointmentForm rescheduleAppointmentForm;
+
+    public RescheduleAppointmentDialog(AppointmentService appointmentService,
+                                       GarageCalendarService garageCalendarService,
+                                       Appointment appointment) {
+
+        rescheduleAppointmentForm = new RescheduleAppointmentForm(appointmentService, garageCalendarService, appointment);
+        rescheduleAppointmentForm.addListener(RescheduleAppointmentForm.CancelEvent.class, this::onCancelClick);
+        rescheduleAppointmentForm.addListener(RescheduleAppointmentForm.SaveEvent.class, this::onSaveClick);
+
+        // only way to exit is to hit cancel or complete the form
+        setCloseOnEsc(false);
+        setCloseOnOutsideClick(false);
+
+        VerticalLayout container = new VerticalLayout();
+        container.setAlignItems(FlexComponent.Alignment.CENTER);
+
+        container.add(new H3("Reschedule Appointment"), rescheduleAppointmentForm);
+        add(container);
+    }
+
+    /**
+     * Fired when cancel button in child form is clicked. Closes the dialog.
+     *
+     * @param event event that occurred
+     */
+    private void onCancelClick(ComponentEvent event) {
+        close();
+    }
+
+    /**
+     * Fired when save button in child form is clicked. Propagates another event.
+     *
+     * @param event event that occurred
+     */
+    private void onSaveClick(ComponentEvent event) {
+        // the dialog stays open if the new time slots were taken
+        if (rescheduleAppointmentForm.completeReschedule()) {
+            fireEvent(new RescheduleAppointmentDialog.SaveSuccessEvent(this));
+        }
+    }
+
+    @Override
+    public <T extends ComponentEvent<?>> Registration addListener(Class<T> eventType,
+                                                                  ComponentEventListener<T> listener) {
+        return getEventBus().addListener(eventType, listener);
+    }
+
+    /**
+     * Event to emit when the appointment has been rescheduled
+     */
+    public static class SaveSuccessEvent extends ComponentEvent<RescheduleAppointmentDialog> {
+        SaveSuccessEvent(RescheduleAppointmentDialog source) {
+            super(source, false);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.TeamOne411.ui.view.carowner.form;
+
+import com.TeamOne411.backend.entity.schedule.Appointment;
+import com.TeamOne411.backend.service.AppointmentService;
+import com.TeamOne411.backend.service.GarageCalendarService;
+import com.TeamOne411.backend.service.exceptions.TimeSlotUnavailableException;
+import com.TeamOne411.ui.utils.LocalDateConverter;
+import com.TeamOne411.ui.utils.LocalTimeConverter;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.formlayout.FormLayout;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.shared.Registration;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This form lets a car owner move an upcoming appointment to another date and time at the same garage.
+ * Only start times the appointment's estimated duration fits into are offered, counting its own time slots as free.
+ */
+public class RescheduleAppointmentForm extends VerticalLayout {
+    private final ComboBox<LocalDate> appointmentDate = new ComboBox<>("Select New Appointment Date");
+    private final ComboBox<LocalTime> appointmentTime = new ComboBox<>("Select New Appointment Time");
+    private final Button saveButton = new Button("Reschedule");
+    private final LocalTimeConverter localTimeConverter = new LocalTimeConverter();
+    private final LocalDateConverter localDateConverter = new LocalDateConverter();
+    private final AppointmentService appointmentService;
+    private final GarageCalendarService garageCalendarService;
+    private final Appointment appointment;
+
+    public RescheduleAppointmentForm(AppointmentService appointmentService,
+                                     GarageCalendarService garageCalendarService,
+                                     Appointment appointment) {
+        this.appointmentService = appointmentService;
+        this.garageCalendarService = garageCalendarService;
+        this.appointment = appointment;
+
+        setJustifyContentMode(JustifyContentMode.CENTER);
+        saveButton.setEnabled(false);
+        saveButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        Button cancelButton = new Button("Cancel");
+        cancelButton.addThemeVariants(ButtonVariant.LUMO_CONTRAST);
+
+        FormLayout appointmentTimeForm = new FormLayout();
+        appointmentTimeForm.add(appointmentDate, appointmentTime);
+        appointmentDate.setRequired(true);
+        appointmentDate.setRequiredIndicatorVisible(true);
+        appointmentTime.setRequired(true);
+        appointmentTime.setRequiredIndicatorVisible(true);
+        appointmentDate.setItems(garageCalendarService.findRescheduleDates(appointment));
+        appointmentDate.setItemLabelGenerator(localDateConverter::encode);
+        appointmentTime.setItemLabelGenerator(localTimeConverter::encode);
+        appointmentTime.setEnabled(false);
+
+        // CLICK LISTENERS
+        appointmentDate.addValueChangeListener(e -> setAppointmentTime());
+        appointmentTime.addValueChangeListener(e -> saveButton.setEnabled(appointmentTime.getValue() != null));
+        saveButton.addClickListener(e -> fireEvent(new RescheduleAppointmentForm.SaveEvent(this)));
+        cancelButton.addClickListener(e -> fireEvent(new RescheduleAppointmentForm.CancelEvent(this)));
+
+        add(appointmentTimeForm, new HorizontalLayout(cancelButton, saveButton));
+    }
+
+    /**
+     * Sets the appointmentTime combobox once the user has picked a new appointment date
+     */
+    private void setAppointmentTime() {
+        if (appointmentDate.getValue() == null) {
+            appointmentTime.setItems(new ArrayList<>());
+            appointmentTime.setEnabled(false);
+            return;
+        }
+        List<LocalTime> times = garageCalendarService.findRescheduleTimes(appointment, appointmentDate.getValue());
+        appointmentTime.setItems(times);
+        appointmentTime.setEnabled(true);
+    }
+
+    /**
+     * Moves the appointment to the picked date and time. If the time slots were taken in the meantime the
+     * appointment keeps its old date and time and the user is asked to pick another time.
+     *
+     * @return true if the appointment was moved
+     */
+    public boolean completeReschedule() {
+        try {
+            appointmentService.rescheduleAppointment(appointment, appointmentDate.getValue(), appointmentTime.getValue());
+        } catch (TimeSlotUnavailableException e) {
+            Notification notification = new Notification(
+                    "Sorry, that appointment time is no longer available. Please select another time.",
+                    4000, Notification.Position.TOP_CENTER);
+            notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
+            notification.open();
+            setAppointmentTime();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public <T extends ComponentEvent<?>> Registration addListener(Class<T> eventType,
+                                                                  ComponentEventListener<T> listener) {
+        return getEventBus().addListener(eventType, listener);
+    }
+
+    /**
+     * Event to emit when save button is clicked
+     */
+    public static class SaveEvent extends ComponentEvent<RescheduleAppointmentForm> {
+        SaveEvent(RescheduleAppointmentForm source) {
+            super(source, false);
+        }
+    }
+
+    /**
+     * Event to emit when cancel button is clicked
+     */
+    public static class CancelEvent extends ComponentEvent<RescheduleAppointmentForm> {
+        CancelEvent(RescheduleAppointmentForm source) {
+            super(source, false);
+        }
+    }
+}
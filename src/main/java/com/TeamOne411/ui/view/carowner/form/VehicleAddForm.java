@@ -12,6 +12,8 @@ import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
@@ -20,6 +22,7 @@ import com.vaadin.flow.data.binder.Binder;
 import com.vaadin.flow.data.binder.ValidationException;
 import com.vaadin.flow.data.value.ValueChangeMode;
 import com.vaadin.flow.shared.Registration;
+import org.springframework.web.client.RestClientException;
 
 import java.net.URISyntaxException;
 import java.time.LocalDate;
@@ -106,6 +109,9 @@ public class VehicleAddForm extends VerticalLayout {
             this.make.setItems(apiVehicleService.getAllMakes());
         } catch (URISyntaxException e) {
             e.printStackTrace();
+        } catch (RestClientException e) {
+            // the makes have never been fetched and the vehicle API is down
+            showLookupFailed();
         }
     }
 
@@ -114,9 +120,22 @@ public class VehicleAddForm extends VerticalLayout {
             this.model.setItems(apiVehicleService.getModelsForMake(make));
         } catch (URISyntaxException e) {
             e.printStackTrace();
+        } catch (RestClientException e) {
+            showLookupFailed();
         }
     }
 
+    /**
+     * Tells the user the vehicle lists could not be loaded
+     */
+    private void showLookupFailed() {
+        Notification notification = new Notification(
+                "Vehicle makes and models can not be loaded right now. Please try again in a few minutes.",
+                4000, Notification.Position.TOP_CENTER);
+        notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
+        notification.open();
+    }
+
     public void fillYearComboBox(){
         int year = LocalDate.now().getYear();
         List<String> years = new ArrayList<>();
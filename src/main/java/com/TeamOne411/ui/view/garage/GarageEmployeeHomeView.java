@@ -1,7 +1,6 @@
 package com.TeamOne411.ui.view.garage;
 
 import com.TeamOne411.backend.entity.Garage;
-import com.TeamOne411.backend.entity.users.GGUserDetails;
 import com.TeamOne411.backend.entity.users.GarageEmployee;
 import com.TeamOne411.backend.service.*;
 import com.TeamOne411.ui.MainLayout;
@@ -29,7 +28,6 @@ import java.util.Map;
 @Secured("ROLE_GARAGE_EMPLOYEE")
 @PageTitle("My Garage")
 public class GarageEmployeeHomeView extends VerticalLayout {
-    private GGUserDetails userDetails;
     private GarageEmployee loggedInEmployee;
     private Garage myGarage;
 
@@ -38,8 +36,7 @@ public class GarageEmployeeHomeView extends VerticalLayout {
                                   BusinessHoursService businessHoursService,
                                   GarageCalendarService garageCalendarService,
                                   AppointmentService appointmentService) {
-        userDetails = userDetailsService.getLoggedInUserDetails();
-        loggedInEmployee = (GarageEmployee) userDetails.getUser();
+        loggedInEmployee = (GarageEmployee) userDetailsService.getLoggedInUser();
         myGarage = loggedInEmployee.getGarage();
         add(new H2("My Garage - " + myGarage.getCompanyName()));
 
@@ -12,9 +12,12 @@ import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.shared.Registration;
+import org.springframework.security.authentication.AuthenticationServiceException;
 
 /**
  * This class is a dialog that wraps GarageEmployeeRegisterForm.
@@ -120,6 +123,13 @@ public class EmployeeEditorDialog extends Dialog {
                 // redundant but necessary catch clause
                 } catch (PhoneNumberExistsException e) {
                     e.printStackTrace();
+                } catch (AuthenticationServiceException busyEx) {
+                    // the password hashing pool is saturated or timed out
+                    Notification notification = new Notification(
+                            "The employee could not be registered right now. Please try again in a moment.",
+                            4000, Notification.Position.TOP_CENTER);
+                    notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
+                    notification.open();
                 }
             } else {
                 userDetailsService.updateUser(employee);
@@ -4,8 +4,10 @@ import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.Vehicle;
 import com.TeamOne411.backend.entity.schedule.Appointment;
 import com.TeamOne411.backend.entity.users.CarOwner;
+import com.TeamOne411.backend.service.AppointmentDashboard;
 import com.TeamOne411.backend.service.AppointmentService;
 import com.TeamOne411.ui.utils.FormattingUtils;
+import com.TeamOne411.ui.utils.LazyDataProviders;
 import com.TeamOne411.ui.view.carowner.form.VehicleHistoryDialog;
 import com.TeamOne411.ui.view.garage.form.GarageEditApptServicesDialog;
 import com.vaadin.flow.component.ComponentEvent;
@@ -22,6 +24,7 @@ import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.timepicker.TimePicker;
+import com.vaadin.flow.data.provider.DataProvider;
 
 import java.time.Duration;
 import java.util.Locale;
@@ -34,9 +37,11 @@ public class GarageAppointmentsView extends VerticalLayout {
     private final Garage garage;
     private final GridPro<Appointment> todayGrid = new GridPro<>(Appointment.class);
     private final GridPro<Appointment> upcomingGrid = new GridPro<>(Appointment.class);
+    private final DataProvider<Appointment, Void> upcomingDataProvider;
     private final H5 noAppointmentsToday = new H5("Your garage does not have any appointments scheduled for today");
     private final H5 noAppointmentsUpcoming = new H5("Your garage does not have any upcoming appointments scheduled");
     private GarageEditApptServicesDialog garageEditApptServicesDialog;
+    private long upcomingCount;
 
     public GarageAppointmentsView(AppointmentService appointmentService, Garage garage) {
         this.appointmentService = appointmentService;
@@ -50,6 +55,16 @@ public class GarageAppointmentsView extends VerticalLayout {
         setGridAttributes(todayGrid, "today-grid");
         setGridAttributes(upcomingGrid, "upcoming-grid");
 
+        // the upcoming grid pages all future appointments in as it scrolls, so it gets a fixed height instead of one
+        // row per item. Its size is the count the dashboard already loaded.
+        upcomingDataProvider = DataProvider.fromCallbacks(
+                query -> appointmentService.findUpcomingAppointmentsByGarage(garage,
+                        LazyDataProviders.toPageable(query)).stream(),
+                query -> Math.toIntExact(upcomingCount));
+        upcomingGrid.setDataProvider(upcomingDataProvider);
+        upcomingGrid.setHeightByRows(false);
+        upcomingGrid.setHeight("400px");
+
         // add columns to todayGrid
         todayGrid.addComponentColumn(this::statusComboBox).setHeader("Status");
         todayGrid.addComponentColumn(this::estimatedCompletionTimePicker).setHeader("Estimated Completion");
@@ -59,7 +74,8 @@ public class GarageAppointmentsView extends VerticalLayout {
         // add columns to upcomingGrid
         upcomingGrid.addColumn(Appointment::getStatus).setHeader("Status").setSortable(false);
         upcomingGrid.addColumn(Appointment::getEstimatedCompletionTime).setHeader("Estimated Completion").setSortable(false);
-        upcomingGrid.addColumn(Appointment::getStatusComments).setHeader("Status Comments").setResizable(true);
+        upcomingGrid.addColumn(Appointment::getStatusComments).setHeader("Status Comments").setSortable(false)
+                .setResizable(true);
 
         // LISTENERS
         todayGrid.addItemPropertyChangedListener(e -> appointmentService.saveAppointment(e.getItem()));
@@ -83,30 +99,23 @@ public class GarageAppointmentsView extends VerticalLayout {
         add(todayLayout, upcomingLayout);
 
         // populate data in the grid
-        updateAppointmentsTodayGrid();
-        updateUpcomingAppointmentsGrid();
+        updateAppointmentGrids();
     }
 
     /**
-     * refreshes the appointments grid
+     * refreshes today's grid and the upcoming appointments count from the dashboard, and reloads the upcoming grid
      */
-    private void updateAppointmentsTodayGrid() {
-        if (appointmentService.findAllAppointmentsTodayByGarage(garage).isEmpty()) {
-            todayGrid.setVisible(false);
-            noAppointmentsToday.setVisible(true);
-        } else
-            todayGrid.setItems(appointmentService.findAllAppointmentsTodayByGarage(garage));
-    }
+    private void updateAppointmentGrids() {
+        AppointmentDashboard dashboard = appointmentService.getGarageDashboard(garage);
 
-    /**
-     * refreshes the upcoming appointments grid
-     */
-    private void updateUpcomingAppointmentsGrid() {
-        if (appointmentService.findAllUpcomingAppointmentsByGarage(garage).isEmpty()) {
-            upcomingGrid.setVisible(false);
-            noAppointmentsUpcoming.setVisible(true);
-        } else
-            upcomingGrid.setItems(appointmentService.findAllUpcomingAppointmentsByGarage(garage));
+        todayGrid.setItems(dashboard.getTodayAppointments());
+        todayGrid.setVisible(dashboard.getTodayCount() > 0);
+        noAppointmentsToday.setVisible(dashboard.getTodayCount() == 0);
+
+        upcomingCount = dashboard.getUpcomingCount();
+        upcomingDataProvider.refreshAll();
+        upcomingGrid.setVisible(dashboard.getUpcomingCount() > 0);
+        noAppointmentsUpcoming.setVisible(dashboard.getUpcomingCount() == 0);
     }
 
     /**
@@ -233,8 +242,7 @@ public class GarageAppointmentsView extends VerticalLayout {
      */
     private void onSave(ComponentEvent<GarageEditApptServicesDialog> event) {
         garageEditApptServicesDialog.close();
-        updateAppointmentsTodayGrid();
-        updateUpcomingAppointmentsGrid();
+        updateAppointmentGrids();
 
         String successMessage = "The appointment services have been updated";
         Notification notification = new Notification(
@@ -109,8 +109,8 @@ public class GarageBusinessHoursView extends SplitLayout {
             // do not allow a null value to be set on the garageCalendar instance, otherwise set what was specified
             if (startDatePicker.getValue() != null) {
                 garageCalendar.setCalendarStartDate(startDatePicker.getValue());
-                //set the calendar end date to be 3 months from the specified start date
-                //TODO enable a rolling update to extend the end date by 1 day daily (ICEBOX)
+                //set the calendar end date to be 3 months from the specified start date,
+                //the CalendarMaintenanceService then extends it by a day every night
                 garageCalendar.setCalendarEndDate(startDatePicker.getValue().plusMonths(3));
                 saveCalButton.setEnabled(true);
             }
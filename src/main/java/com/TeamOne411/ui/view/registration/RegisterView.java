@@ -12,8 +12,11 @@ import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.H1;
 import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.notification.NotificationVariant;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.Route;
+import org.springframework.security.authentication.AuthenticationServiceException;
 
 @Route(value = "register")
 public class RegisterView extends VerticalLayout {
@@ -173,6 +176,9 @@ public class RegisterView extends VerticalLayout {
                     // todo display error
                 } catch (PhoneNumberExistsException phoneNumberEx) {
                     // todo display error
+                } catch (AuthenticationServiceException busyEx) {
+                    // the password hashing pool is saturated or timed out
+                    showTryAgain();
                 }
             } else {
                 // todo display error
@@ -206,6 +212,8 @@ public class RegisterView extends VerticalLayout {
                     // redundant but necessary catch clause
                 } catch (PhoneNumberExistsException e) {
                     e.printStackTrace();
+                } catch (AuthenticationServiceException busyEx) {
+                    showTryAgain();
                 }
             } else {
                 // todo display error
@@ -213,6 +221,17 @@ public class RegisterView extends VerticalLayout {
         }
     }
 
+    /**
+     * Tells the user the registration could not be completed because the server is busy
+     */
+    private void showTryAgain() {
+        Notification notification = new Notification(
+                "We could not complete your registration right now. Please try again in a moment.",
+                4000, Notification.Position.TOP_CENTER);
+        notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
+        notification.open();
+    }
+
     private enum RegistrationState {
         USER_TYPE_SELECTION,
         CAR_OWNER_INFO,
@@ -136,8 +136,8 @@ public class CarOwnerRegisterForm extends VerticalLayout{
     }
 
     private boolean validatePhoneNumberField() {
-        // check to make sure the email doesn't already exist
-        if (userDetailsService.isCarOwnerPhoneExisting(email.getValue())){
+        // check to make sure the phone number doesn't already exist
+        if (userDetailsService.isCarOwnerPhoneExisting(phoneNumber.getValue())){
             phoneNumber.setErrorMessage("An account with this phone number already exists!");
             phoneNumber.setInvalid(true);
             return false;
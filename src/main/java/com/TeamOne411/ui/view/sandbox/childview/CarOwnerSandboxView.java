@@ -2,11 +2,16 @@ package com.TeamOne411.ui.view.sandbox.childview;
 
 import com.TeamOne411.backend.entity.users.CarOwner;
 import com.TeamOne411.backend.service.CarOwnerService;
+import com.TeamOne411.ui.utils.LazyDataProviders;
 import com.TeamOne411.ui.view.sandbox.form.CarOwnerEditorForm;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.value.ValueChangeMode;
 
 /**
  * The CarOwnerSandboxView is a God-mode CarOwner editor for testing purposes.
@@ -14,6 +19,8 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
  */
 public class CarOwnerSandboxView extends VerticalLayout {
     private Grid<CarOwner> grid = new Grid<>(CarOwner.class);
+    private TextField filterText = new TextField();
+    private ConfigurableFilterDataProvider<CarOwner, Void, String> dataProvider;
     private CarOwnerService carOwnerService;
     private CarOwnerEditorForm form = new CarOwnerEditorForm();
     private Button addButton = new Button("Add CarOwner");
@@ -30,9 +37,17 @@ public class CarOwnerSandboxView extends VerticalLayout {
 
         // configure the carOwner grid
         grid.addClassName("car-owner-grid");
+        dataProvider = LazyDataProviders.fromPagedQueries(carOwnerService::findAll, carOwnerService::count);
+        grid.setDataProvider(dataProvider);
         grid.setColumns("username", "firstName", "lastName", "email", "phoneNumber", "address");
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
 
+        // filter the grid in the database as the user types
+        filterText.setPlaceholder("Filter by username");
+        filterText.setClearButtonVisible(true);
+        filterText.setValueChangeMode(ValueChangeMode.LAZY);
+        filterText.addValueChangeListener(event -> dataProvider.setFilter(event.getValue()));
+
         // attach event listener on grid item select
         grid.asSingleSelect().addValueChangeListener(event -> editCarOwner(event.getValue()));
 
@@ -60,17 +75,14 @@ public class CarOwnerSandboxView extends VerticalLayout {
         carOwnerContent.setSizeFull();
 
         // add the components to this layout
-        add(addButton, carOwnerContent);
-
-        // fetch the list for the grid
-        updateCarOwnerList();
+        add(new HorizontalLayout(filterText, addButton), carOwnerContent);
     }
 
     /**
-     * Refreshes the grid list from the database
+     * Refreshes the rows shown in the grid from the database
      */
     private void updateCarOwnerList() {
-        grid.setItems(carOwnerService.findAll());
+        dataProvider.refreshAll();
     }
 
     /**
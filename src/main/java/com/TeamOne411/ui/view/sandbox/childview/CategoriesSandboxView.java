@@ -4,11 +4,16 @@ import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
 import com.TeamOne411.backend.service.GarageService;
 import com.TeamOne411.backend.service.ServiceCatalogService;
+import com.TeamOne411.ui.utils.LazyDataProviders;
 import com.TeamOne411.ui.view.sandbox.form.CategoryEditorForm;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.value.ValueChangeMode;
 
 
 /**
@@ -17,9 +22,11 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
  */
 public class CategoriesSandboxView extends VerticalLayout{
     private Grid<ServiceCategory> grid = new Grid<>(ServiceCategory.class);
+    private TextField filterText = new TextField();
+    private ConfigurableFilterDataProvider<ServiceCategory, Void, String> dataProvider;
     private ServiceCatalogService serviceCatalogService;
     private GarageService garageService;
-    private CategoryEditorForm categoryEditorForm = new CategoryEditorForm();
+    private CategoryEditorForm categoryEditorForm;
     private Button addCategoryButton = new Button("Add Category");
 
     /**
@@ -31,22 +38,31 @@ public class CategoriesSandboxView extends VerticalLayout{
         //initial layout setup
         this.serviceCatalogService = serviceCatalogService;
         this.garageService = garageService;
+        categoryEditorForm = new CategoryEditorForm(garageService);
         addClassName("list-view");
         setSizeFull();
 
         //configure the categories-grid
         grid.addClassName("categories-grid");
+        dataProvider = LazyDataProviders.fromPagedQueries(serviceCatalogService::findServiceCategories, serviceCatalogService::countServiceCategories);
+        grid.setDataProvider(dataProvider);
         grid.setColumns("categoryName");
 
         //add garage
         grid.addColumn(serviceCategory -> {
             Garage garage = serviceCategory.getGarage();
             return garage.getCompanyName();
-        }).setSortable(true).setHeader("Garage");
+        }).setSortProperty("garage.companyName").setHeader("Garage");
 
         // set column width
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
 
+        // filter the grid in the database as the user types
+        filterText.setPlaceholder("Filter by category name");
+        filterText.setClearButtonVisible(true);
+        filterText.setValueChangeMode(ValueChangeMode.LAZY);
+        filterText.addValueChangeListener(event -> dataProvider.setFilter(event.getValue()));
+
         // attach event listener on grid item select
         grid.asSingleSelect().addValueChangeListener(event -> editServiceCategory(event.getValue()));
 
@@ -74,10 +90,7 @@ public class CategoriesSandboxView extends VerticalLayout{
         serviceCategoriesContent.setSizeFull();
 
         // add the components to this layout
-        add(addCategoryButton, serviceCategoriesContent);
-
-        // fetch the list for the grid
-        updateCategoriesList();
+        add(new HorizontalLayout(filterText, addCategoryButton), serviceCategoriesContent);
 
         // pass down garages to the form for the garage combobox
         updateGarageCombobox();
@@ -85,14 +98,14 @@ public class CategoriesSandboxView extends VerticalLayout{
     }
 
     private void updateGarageCombobox() {
-        categoryEditorForm.setGarages(garageService.findAll());
+        categoryEditorForm.setGarages(garageService.findAllSummaries());
     }
 
     /**
-     * Refreshes the grid list from the database
+     * Refreshes the rows shown in the grid from the database
      */
     private void updateCategoriesList() {
-        grid.setItems(serviceCatalogService.findAllServiceCategories());
+        dataProvider.refreshAll();
     }
 
     /**
@@ -4,11 +4,16 @@ import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.entity.users.GarageEmployee;
 import com.TeamOne411.backend.service.GarageEmployeeService;
 import com.TeamOne411.backend.service.GarageService;
+import com.TeamOne411.ui.utils.LazyDataProviders;
 import com.TeamOne411.ui.view.sandbox.form.GarageEmployeeEditorForm;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.value.ValueChangeMode;
 
 /**
  * The GarageEmployeeSandboxView is a God-mode GarageEmployee editor for testing purposes.
@@ -16,9 +21,11 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
  */
 public class GarageEmployeeSandboxView extends VerticalLayout {
     private Grid<GarageEmployee> grid = new Grid<>(GarageEmployee.class);
+    private TextField filterText = new TextField();
+    private ConfigurableFilterDataProvider<GarageEmployee, Void, String> dataProvider;
     private GarageEmployeeService employeeService;
     private GarageService garageService;
-    private GarageEmployeeEditorForm form = new GarageEmployeeEditorForm();
+    private GarageEmployeeEditorForm form;
     private Button addButton = new Button("Add GarageEmployee");
 
     /**
@@ -30,19 +37,28 @@ public class GarageEmployeeSandboxView extends VerticalLayout {
         // initial layout setup
         this.employeeService = employeeService;
         this.garageService = garageService;
+        form = new GarageEmployeeEditorForm(garageService);
         addClassName("list-view");
         setSizeFull();
 
         // configure the garageEmployee grid
         grid.addClassName("garage-employee-grid");
+        dataProvider = LazyDataProviders.fromPagedQueries(employeeService::findAll, employeeService::count);
+        grid.setDataProvider(dataProvider);
         grid.setColumns("username", "firstName", "lastName", "email");
         grid.addColumn(garageEmployee -> {
             Garage garage = garageEmployee.getGarage();
             return garage == null ? "[None]" : garage.getCompanyName();
-        }).setHeader("Employer");
+        }).setHeader("Employer").setSortProperty("garage.companyName");
         grid.addColumn("isAdmin");
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
 
+        // filter the grid in the database as the user types
+        filterText.setPlaceholder("Filter by username");
+        filterText.setClearButtonVisible(true);
+        filterText.setValueChangeMode(ValueChangeMode.LAZY);
+        filterText.addValueChangeListener(event -> dataProvider.setFilter(event.getValue()));
+
         // attach event listener on grid item select
         grid.asSingleSelect().addValueChangeListener(event -> editGarageEmployee(event.getValue()));
 
@@ -70,24 +86,21 @@ public class GarageEmployeeSandboxView extends VerticalLayout {
         garageEmployeeContent.setSizeFull();
 
         // add the components to this layout
-        add(addButton, garageEmployeeContent);
-
-        // fetch the list for the grid
-        updateGarageEmployeeList();
+        add(new HorizontalLayout(filterText, addButton), garageEmployeeContent);
 
         // pass down garages to the form for the garage combobox
         updateGarageCombobox();
     }
 
     private void updateGarageCombobox() {
-        form.setGarages(garageService.findAll());
+        form.setGarages(garageService.findAllSummaries());
     }
 
     /**
-     * Refreshes the grid list from the database
+     * Refreshes the rows shown in the grid from the database
      */
     private void updateGarageEmployeeList() {
-        grid.setItems(employeeService.findAll());
+        dataProvider.refreshAll();
     }
 
     /**
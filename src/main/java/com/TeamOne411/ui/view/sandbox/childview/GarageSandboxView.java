@@ -2,11 +2,16 @@ package com.TeamOne411.ui.view.sandbox.childview;
 
 import com.TeamOne411.backend.entity.Garage;
 import com.TeamOne411.backend.service.GarageService;
+import com.TeamOne411.ui.utils.LazyDataProviders;
 import com.TeamOne411.ui.view.sandbox.form.GarageEditorForm;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.value.ValueChangeMode;
 
 /**
  * The GarageSandboxView is a God-mode Garage editor for testing purposes.
@@ -14,6 +19,8 @@ import com.vaadin.flow.component.orderedlayout.VerticalLayout;
  */
 public class GarageSandboxView extends VerticalLayout {
     private Grid<Garage> grid = new Grid<>(Garage.class);
+    private TextField filterText = new TextField();
+    private ConfigurableFilterDataProvider<Garage, Void, String> dataProvider;
     private GarageService service;
     private GarageEditorForm form = new GarageEditorForm();
     private Button addButton = new Button("Add Garage");
@@ -30,9 +37,17 @@ public class GarageSandboxView extends VerticalLayout {
 
         // configure the garage grid
         grid.addClassName("garage-grid");
+        dataProvider = LazyDataProviders.fromPagedQueries(service::findAll, service::count);
+        grid.setDataProvider(dataProvider);
         grid.setColumns("companyName", "phoneNumber", "address");
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
 
+        // filter the grid in the database as the user types
+        filterText.setPlaceholder("Filter by company name");
+        filterText.setClearButtonVisible(true);
+        filterText.setValueChangeMode(ValueChangeMode.LAZY);
+        filterText.addValueChangeListener(event -> dataProvider.setFilter(event.getValue()));
+
         // attach event listener on grid item select
         grid.asSingleSelect().addValueChangeListener(event -> editGarage(event.getValue()));
 
@@ -59,17 +74,14 @@ public class GarageSandboxView extends VerticalLayout {
         garageContent.setSizeFull();
 
         // add the components to this layout
-        add(addButton, garageContent);
-
-        // fetch the list for the grid
-        updateGarageList();
+        add(new HorizontalLayout(filterText, addButton), garageContent);
     }
 
     /**
-     * Refreshes the grid list from the database
+     * Refreshes the rows shown in the grid from the database
      */
     private void updateGarageList() {
-        grid.setItems(service.findAll());
+        dataProvider.refreshAll();
     }
 
     /**
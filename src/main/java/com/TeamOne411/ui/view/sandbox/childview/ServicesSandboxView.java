@@ -1,19 +1,24 @@
 package com.TeamOne411.ui.view.sandbox.childview;
 
 import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
 import com.TeamOne411.backend.entity.servicecatalog.OfferedService;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
 import com.TeamOne411.backend.service.GarageService;
 import com.TeamOne411.backend.service.ServiceCatalogService;
+import com.TeamOne411.ui.utils.LazyDataProviders;
 import com.TeamOne411.ui.view.sandbox.form.OfferedServiceEditorForm;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.value.ValueChangeMode;
 
 import java.text.DecimalFormat;
 import java.time.Duration;
-import java.util.Comparator;
 
 /**
  * The ServicesSandboxView is a God-mode ServiceCatalog editor for testing purposes.
@@ -22,6 +27,8 @@ import java.util.Comparator;
  */
 public class ServicesSandboxView extends VerticalLayout {
     private Grid<OfferedService> grid = new Grid<>(OfferedService.class);
+    private TextField filterText = new TextField();
+    private ConfigurableFilterDataProvider<OfferedService, Void, String> dataProvider;
     private ServiceCatalogService serviceCatalogService;
     private GarageService garageService;
     private OfferedServiceEditorForm serviceEditorForm = new OfferedServiceEditorForm(this);
@@ -44,12 +51,14 @@ public class ServicesSandboxView extends VerticalLayout {
 
         //configure the service-catalog-grid
         grid.addClassName("service-catalog-grid");
+        dataProvider = LazyDataProviders.fromPagedQueries(serviceCatalogService::findOfferedServices, serviceCatalogService::countOfferedServices);
+        grid.setDataProvider(dataProvider);
         grid.setColumns("serviceName");
 
         grid.addColumn(offeredService -> {
             ServiceCategory serviceCategory = offeredService.getServiceCategory();
             return serviceCategory.getCategoryName();
-        }).setSortable(true).setHeader("Category").setKey("serviceCategory");
+        }).setSortProperty("serviceCategory.categoryName").setHeader("Category").setKey("serviceCategory");
 
         //Format price
         final DecimalFormat decimalFormat = new DecimalFormat();
@@ -57,21 +66,27 @@ public class ServicesSandboxView extends VerticalLayout {
         decimalFormat.setMinimumFractionDigits(2);
 
         grid.addColumn(offeredService -> decimalFormat.format(offeredService.getPrice()))
-                .setHeader("$ Price").setComparator(Comparator.comparing(OfferedService::getPrice))
+                .setHeader("$ Price").setSortProperty("price")
                 .setKey("price");
 
         grid.addColumn(offeredService -> {
             duration = offeredService.getDuration();
             return duration.toMinutes();
-        }).setHeader("Duration in Minutes").setSortable(true).setKey("duration");
+        }).setHeader("Duration in Minutes").setSortProperty("duration").setKey("duration");
 
         //add garage
         grid.addColumn(offeredService -> {
-            garage = offeredService.getServiceCategory().getGarage();
+            Garage garage = offeredService.getServiceCategory().getGarage();
             return garage.getCompanyName();
-        }).setSortable(true).setHeader("Garage");
+        }).setSortProperty("serviceCategory.garage.companyName").setHeader("Garage");
         grid.getColumns().forEach(col -> col.setAutoWidth(true));
 
+        // filter the grid in the database as the user types
+        filterText.setPlaceholder("Filter by service name");
+        filterText.setClearButtonVisible(true);
+        filterText.setValueChangeMode(ValueChangeMode.LAZY);
+        filterText.addValueChangeListener(event -> dataProvider.setFilter(event.getValue()));
+
         // attach event listener on grid item select
         grid.asSingleSelect().addValueChangeListener(event -> editOfferedService(event.getValue()));
 
@@ -99,23 +114,20 @@ public class ServicesSandboxView extends VerticalLayout {
         offeredServiceContent.setSizeFull();
 
         // add the components to this layout
-        add(addServiceButton, offeredServiceContent);
-
-        // fetch the list for the grid
-        updateOfferedServicesList();
+        add(new HorizontalLayout(filterText, addServiceButton), offeredServiceContent);
 
         // pass down garages to the form for the garage combobox
         updateGarageCombobox();
     }
 
-    public void setGarage(Garage garage){
-        this.garage = garage;
+    public void setGarage(GarageSummary garageSummary){
+        this.garage = garageService.getReference(garageSummary);
         // pass down categories to the form for the categories combobox
         updateCategoriesCombobox();
     }
 
     private void updateGarageCombobox() {
-        serviceEditorForm.setGarages(garageService.findAll());
+        serviceEditorForm.setGarages(garageService.findAllSummaries());
     }
 
     private void updateCategoriesCombobox() {
@@ -123,10 +135,10 @@ public class ServicesSandboxView extends VerticalLayout {
     }
 
     /**
-     * Refreshes the grid list from the database
+     * Refreshes the rows shown in the grid from the database
      */
     private void updateOfferedServicesList() {
-        grid.setItems(serviceCatalogService.findAllOfferedServices());
+        dataProvider.refreshAll();
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.TeamOne411.ui.view.sandbox.form;
-import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
+import com.TeamOne411.backend.service.GarageService;
+import com.TeamOne411.ui.utils.GarageSummaryConverter;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.Key;
@@ -20,7 +22,7 @@ import java.util.List;
 public class CategoryEditorForm extends FormLayout {
 
     private TextField categoryName = new TextField("Category name");
-    private ComboBox<Garage> garage = new ComboBox<>("Garage");
+    private ComboBox<GarageSummary> garage = new ComboBox<>("Garage");
 
     private Button save = new Button("Save");
     private Button delete = new Button("Delete");
@@ -29,16 +31,17 @@ public class CategoryEditorForm extends FormLayout {
     Binder<ServiceCategory> binder = new BeanValidationBinder<>(ServiceCategory.class);
     private ServiceCategory serviceCategory = new ServiceCategory();
 
-    public CategoryEditorForm() {
+    public CategoryEditorForm(GarageService garageService) {
         addClassName("service-category-form");
+        binder.forField(garage).withConverter(new GarageSummaryConverter(garageService)).bind("garage");
         binder.bindInstanceFields(this);
-        garage.setItemLabelGenerator(Garage::getCompanyName);
+        garage.setItemLabelGenerator(GarageSummary::getCompanyName);
         add(categoryName,
                 garage,
                 createButtonsLayout());
     }
 
-    public void setGarages(List<Garage> garages) {
+    public void setGarages(List<GarageSummary> garages) {
         this.garage.setItems(garages);
     }
 
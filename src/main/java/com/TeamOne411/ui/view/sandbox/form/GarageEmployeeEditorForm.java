@@ -1,7 +1,9 @@
 package com.TeamOne411.ui.view.sandbox.form;
 
-import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
 import com.TeamOne411.backend.entity.users.GarageEmployee;
+import com.TeamOne411.backend.service.GarageService;
+import com.TeamOne411.ui.utils.GarageSummaryConverter;
 import com.vaadin.flow.component.ComponentEvent;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.Key;
@@ -25,7 +27,7 @@ public class GarageEmployeeEditorForm extends FormLayout {
     private TextField lastName = new TextField("Last name");
     private TextField email = new TextField("Email Address");
     private Checkbox isAdmin = new Checkbox("Garage Admin");
-    private ComboBox<Garage> garage = new ComboBox<>("Employer");
+    private ComboBox<GarageSummary> garage = new ComboBox<>("Employer");
 
     private Button save = new Button("Save");
     private Button delete = new Button("Delete");
@@ -34,10 +36,11 @@ public class GarageEmployeeEditorForm extends FormLayout {
     Binder<GarageEmployee> binder = new BeanValidationBinder<>(GarageEmployee.class);
     private GarageEmployee garageEmployee = new GarageEmployee();
 
-    public GarageEmployeeEditorForm() {
+    public GarageEmployeeEditorForm(GarageService garageService) {
         addClassName("garage-employee-form");
+        binder.forField(garage).withConverter(new GarageSummaryConverter(garageService)).bind("garage");
         binder.bindInstanceFields(this);
-        garage.setItemLabelGenerator(Garage::getCompanyName);
+        garage.setItemLabelGenerator(GarageSummary::getCompanyName);
         add(username,
                 firstName,
                 lastName,
@@ -47,7 +50,7 @@ public class GarageEmployeeEditorForm extends FormLayout {
                 createButtonsLayout());
     }
 
-    public void setGarages(List<Garage> garages) {
+    public void setGarages(List<GarageSummary> garages) {
         this.garage.setItems(garages);
     }
 
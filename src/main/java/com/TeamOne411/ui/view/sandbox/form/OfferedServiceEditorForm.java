@@ -1,6 +1,6 @@
 package com.TeamOne411.ui.view.sandbox.form;
 
-import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.GarageSummary;
 import com.TeamOne411.backend.entity.servicecatalog.OfferedService;
 import com.TeamOne411.backend.entity.servicecatalog.ServiceCategory;
 import com.TeamOne411.ui.utils.PriceConverter;
@@ -26,7 +26,7 @@ import java.util.List;
 public class OfferedServiceEditorForm extends FormLayout {
     Binder<OfferedService> binder = new BeanValidationBinder<>(OfferedService.class);
     private final TextField serviceName = new TextField("Service name");
-    private final ComboBox<Garage> garageComboBox = new ComboBox<>("Garage");
+    private final ComboBox<GarageSummary> garageComboBox = new ComboBox<>("Garage");
     private final TextField price = new TextField("$ Price");
     private final ComboBox<Duration> duration = new ComboBox<>("Duration");
     private final ComboBox<ServiceCategory> serviceCategory = new ComboBox<>("Category");
@@ -41,7 +41,7 @@ public class OfferedServiceEditorForm extends FormLayout {
         addClassName("offered-service-form");
         binder.forField(price).withNullRepresentation("").withConverter(new PriceConverter()).bind("price");
         binder.bindInstanceFields(this);
-        garageComboBox.setItemLabelGenerator(Garage::getCompanyName);
+        garageComboBox.setItemLabelGenerator(GarageSummary::getCompanyName);
         serviceCategory.setItemLabelGenerator(ServiceCategory::getCategoryName);
         duration.setItems((Duration.ofMinutes(0)), Duration.ofMinutes(30), Duration.ofMinutes(60),
                 Duration.ofMinutes(90), Duration.ofMinutes(120),
@@ -60,7 +60,7 @@ public class OfferedServiceEditorForm extends FormLayout {
                 createButtonsLayout());
     }
 
-    public void setGarages(List<Garage> garages) {
+    public void setGarages(List<GarageSummary> garages) {
         this.garageComboBox.setItems(garages);
     }
 
@@ -70,7 +70,7 @@ public class OfferedServiceEditorForm extends FormLayout {
 
     public void setOfferedService(OfferedService offeredService) {
         this.offeredService = offeredService;
-        garageComboBox.setValue(offeredService.getServiceCategory().getGarage());
+        garageComboBox.setValue(GarageSummary.of(offeredService.getServiceCategory().getGarage()));
         binder.readBean(offeredService);
     }
 
@@ -0,0 +1,187 @@
+-- Schema of the last release before migrations, as its ddl-auto=update setup created it. Existing databases of that
+-- release are baselined at this version, so this file must not describe anything added after it; later changes go in
+-- the following migrations.
+-- Table and column names follow Spring's default snake_case naming of the entity fields.
+
+-- id generator shared by all entities (AbstractEntity), used as a table because MySQL has no sequences
+CREATE TABLE hibernate_sequence (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO hibernate_sequence (next_val) VALUES (1);
+
+-- users and security
+
+CREATE TABLE privilege (
+    id   BIGINT NOT NULL,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE role (
+    id   BIGINT NOT NULL,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE roles_privileges (
+    role_id      BIGINT NOT NULL,
+    privilege_id BIGINT NOT NULL,
+    CONSTRAINT fk_roles_privileges_role FOREIGN KEY (role_id) REFERENCES role (id),
+    CONSTRAINT fk_roles_privileges_privilege FOREIGN KEY (privilege_id) REFERENCES privilege (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user (
+    discriminator VARCHAR(31)  NOT NULL,
+    id            BIGINT       NOT NULL,
+    username      VARCHAR(15)  NOT NULL,
+    password      VARCHAR(150) NOT NULL,
+    is_enabled    BIT          NOT NULL,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE users_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT fk_users_roles_user FOREIGN KEY (user_id) REFERENCES user (id),
+    CONSTRAINT fk_users_roles_role FOREIGN KEY (role_id) REFERENCES role (id)
+) ENGINE = InnoDB;
+
+-- garages
+
+CREATE TABLE garage (
+    id           BIGINT       NOT NULL,
+    company_name VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    address      VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE car_owner (
+    id           BIGINT       NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    address      VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_car_owner_user FOREIGN KEY (id) REFERENCES user (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE car_owner_preferred_garages (
+    car_owner_id         BIGINT NOT NULL,
+    preferred_garages_id BIGINT NOT NULL,
+    CONSTRAINT fk_preferred_garages_car_owner FOREIGN KEY (car_owner_id) REFERENCES car_owner (id),
+    CONSTRAINT fk_preferred_garages_garage FOREIGN KEY (preferred_garages_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE garage_employee (
+    id        BIGINT NOT NULL,
+    is_admin  BIT    NOT NULL,
+    garage_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_garage_employee_user FOREIGN KEY (id) REFERENCES user (id),
+    CONSTRAINT fk_garage_employee_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE vehicle (
+    id           BIGINT       NOT NULL,
+    make         VARCHAR(255) NOT NULL,
+    model        VARCHAR(255) NOT NULL,
+    year         VARCHAR(255) NOT NULL,
+    vin          VARCHAR(255) NOT NULL,
+    car_owner_id BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_vehicle_car_owner FOREIGN KEY (car_owner_id) REFERENCES car_owner (id)
+) ENGINE = InnoDB;
+
+-- service catalog
+
+CREATE TABLE service_category (
+    id            BIGINT NOT NULL,
+    category_name VARCHAR(255),
+    garage_id     BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_service_category_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE offered_service (
+    id                  BIGINT         NOT NULL,
+    service_name        VARCHAR(255)   NOT NULL,
+    service_category_id BIGINT         NOT NULL,
+    duration            BIGINT         NOT NULL,
+    price               DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_offered_service_service_category FOREIGN KEY (service_category_id) REFERENCES service_category (id)
+) ENGINE = InnoDB;
+
+-- scheduling
+
+CREATE TABLE business_hours (
+    id              BIGINT       NOT NULL,
+    day_of_the_week VARCHAR(255) NOT NULL,
+    day_number      INTEGER      NOT NULL,
+    is_open         BIT          NOT NULL,
+    open_time       TIME,
+    close_time      TIME,
+    garage_id       BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_business_hours_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE garage_calendar (
+    id                  BIGINT NOT NULL,
+    garage_id           BIGINT NOT NULL,
+    calendar_start_date DATE   NOT NULL,
+    calendar_end_date   DATE   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_garage_calendar_garage UNIQUE (garage_id),
+    CONSTRAINT fk_garage_calendar_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE closed_date (
+    id            BIGINT NOT NULL,
+    garage_id     BIGINT NOT NULL,
+    not_open_date DATE   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_closed_date_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
+
+-- one row per garage per 30 minute appointment slot
+CREATE TABLE time_slot (
+    id         BIGINT NOT NULL,
+    garage_id  BIGINT NOT NULL,
+    start_date DATE   NOT NULL,
+    start_time TIME   NOT NULL,
+    is_filled  BIT    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_time_slot_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE appointment (
+    id                        BIGINT         NOT NULL,
+    garage_id                 BIGINT         NOT NULL,
+    vehicle_id                BIGINT         NOT NULL,
+    appointment_date          DATE           NOT NULL,
+    appointment_time          TIME           NOT NULL,
+    estimated_duration        BIGINT         NOT NULL,
+    estimated_total_price     DECIMAL(19, 2) NOT NULL,
+    status                    VARCHAR(255)   NOT NULL,
+    estimated_completion_time TIME,
+    status_comments           VARCHAR(255),
+    car_owner_comments        VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointment_garage FOREIGN KEY (garage_id) REFERENCES garage (id),
+    CONSTRAINT fk_appointment_vehicle FOREIGN KEY (vehicle_id) REFERENCES vehicle (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE appointment_task (
+    id                 BIGINT         NOT NULL,
+    appointment_id     BIGINT         NOT NULL,
+    offered_service_id BIGINT         NOT NULL,
+    duration           BIGINT         NOT NULL,
+    price              DECIMAL(19, 2) NOT NULL,
+    garage_comments    VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointment_task_appointment FOREIGN KEY (appointment_id) REFERENCES appointment (id),
+    CONSTRAINT fk_appointment_task_offered_service FOREIGN KEY (offered_service_id) REFERENCES offered_service (id)
+) ENGINE = InnoDB;
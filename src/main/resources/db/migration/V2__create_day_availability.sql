@@ -0,0 +1,13 @@
+-- Garage availability is kept as one row per garage-day with the day's 30 minute slots as bits of two masks,
+-- replacing the per-slot time_slot table. The existing time slots are converted by a later migration.
+CREATE TABLE day_availability (
+    id                BIGINT NOT NULL,
+    garage_id         BIGINT NOT NULL,
+    availability_date DATE   NOT NULL,
+    first_slot_time   TIME   NOT NULL,
+    open_slots        BIGINT NOT NULL,
+    filled_slots      BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_day_availability_garage_date UNIQUE (garage_id, availability_date),
+    CONSTRAINT fk_day_availability_garage FOREIGN KEY (garage_id) REFERENCES garage (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,27 @@
+-- Indexes for the appointment dashboards and the login and registration lookups, and unique keys for the
+-- per-garage scheduling tables. All are built in place so the tables stay writable.
+
+-- garage dashboard lists: by garage and date, ordered by time
+ALTER TABLE appointment ADD INDEX idx_appointment_garage_date_time (garage_id, appointment_date, appointment_time),
+    ALGORITHM=INPLACE, LOCK=NONE;
+-- car owner dashboard lists: by vehicle and date
+ALTER TABLE appointment ADD INDEX idx_appointment_vehicle_date (vehicle_id, appointment_date),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+ALTER TABLE user ADD INDEX idx_user_username (username), ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE user ADD INDEX idx_user_email (email), ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE car_owner ADD INDEX idx_car_owner_phone_number (phone_number), ALGORITHM=INPLACE, LOCK=NONE;
+
+-- one set of hours per garage and weekday, one closed date entry per garage and date. The ddl-auto=update schema
+-- had no such keys, so duplicates saved by earlier releases are removed first, keeping the oldest row of each.
+DELETE newer FROM business_hours newer
+    JOIN business_hours older
+    ON older.garage_id = newer.garage_id AND older.day_number = newer.day_number AND older.id < newer.id;
+DELETE newer FROM closed_date newer
+    JOIN closed_date older
+    ON older.garage_id = newer.garage_id AND older.not_open_date = newer.not_open_date AND older.id < newer.id;
+
+ALTER TABLE business_hours ADD CONSTRAINT uk_business_hours_garage_day UNIQUE (garage_id, day_number),
+    ALGORITHM=INPLACE, LOCK=NONE;
+ALTER TABLE closed_date ADD CONSTRAINT uk_closed_date_garage_date UNIQUE (garage_id, not_open_date),
+    ALGORITHM=INPLACE, LOCK=NONE;
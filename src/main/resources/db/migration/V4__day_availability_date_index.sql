@@ -0,0 +1,2 @@
+-- The earliest available slot search reads the days of all garages by date range
+ALTER TABLE day_availability ADD INDEX idx_day_availability_date (availability_date), ALGORITHM=INPLACE, LOCK=NONE;
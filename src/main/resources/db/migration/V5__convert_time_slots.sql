@@ -0,0 +1,32 @@
+-- Moves the per-slot time_slot rows into the per-day bitmaps of day_availability, so existing garage calendars and
+-- booked slots survive the upgrade. For each garage-day the earliest slot is the first slot time and every slot sets
+-- bit (minutes from the first slot / 30) of open_slots, and of filled_slots if it is filled.
+-- Slots were generated in 30 minute steps from the opening time, so every slot lines up with a bit; anything that
+-- does not, or lies past the 48 slots a day can hold, can not be represented and is left out.
+
+SET @first_id = (SELECT next_val FROM hibernate_sequence);
+
+INSERT INTO day_availability (id, garage_id, availability_date, first_slot_time, open_slots, filled_slots)
+SELECT @first_id + ROW_NUMBER() OVER (ORDER BY days.garage_id, days.start_date) - 1,
+       days.garage_id, days.start_date, days.first_slot_time, days.open_slots, days.filled_slots
+FROM (
+    SELECT slots.garage_id, slots.start_date, slots.first_slot_time,
+           BIT_OR(1 << slots.slot_index) AS open_slots,
+           BIT_OR(CASE WHEN slots.is_filled = 1 THEN 1 << slots.slot_index ELSE 0 END) AS filled_slots
+    FROM (
+        SELECT t.garage_id, t.start_date, t.is_filled, f.first_slot_time,
+               TIME_TO_SEC(TIMEDIFF(t.start_time, f.first_slot_time)) DIV 1800 AS slot_index,
+               TIME_TO_SEC(TIMEDIFF(t.start_time, f.first_slot_time)) MOD 1800 AS slot_offset
+        FROM time_slot t
+        JOIN (SELECT garage_id, start_date, MIN(start_time) AS first_slot_time
+              FROM time_slot
+              GROUP BY garage_id, start_date) f
+            ON f.garage_id = t.garage_id AND f.start_date = t.start_date
+    ) slots
+    WHERE slots.slot_offset = 0 AND slots.slot_index < 48
+    GROUP BY slots.garage_id, slots.start_date, slots.first_slot_time
+) days;
+
+-- hand out new ids after the converted rows
+UPDATE hibernate_sequence
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 1 FROM day_availability));
@@ -0,0 +1,2 @@
+-- The time slots were converted to day_availability by V5
+DROP TABLE time_slot;
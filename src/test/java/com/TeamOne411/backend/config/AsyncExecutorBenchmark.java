@@ -0,0 +1,142 @@
+package com.TeamOne411.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.JvmMemoryMetrics;
+import io.micrometer.core.instrument.binder.jvm.JvmThreadMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the background task executor with garageguide.virtual-threads.enabled false and true.
+ * Each mode runs the same batch of blocking tasks, which hold a buffer while they wait like a JDBC or NHTSA call,
+ * and reports the throughput and the peak jvm.memory.used and jvm.threads.live sampled while the batch ran.
+ * On a JVM without virtual threads only the thread pool is measured.
+ * <p>
+ * Not part of the regular test run, start it with:
+ * mvn test -Dtest=AsyncExecutorBenchmark -Dgarageguide.benchmark.tasks=5000 -Dgarageguide.benchmark.task-millis=20
+ */
+class AsyncExecutorBenchmark {
+    private static final Logger LOGGER = Logger.getLogger(AsyncExecutorBenchmark.class.getName());
+
+    private static final int TASKS = Integer.getInteger("garageguide.benchmark.tasks", 5000);
+    private static final int TASK_MILLIS = Integer.getInteger("garageguide.benchmark.task-millis", 20);
+    private static final int WARMUP_TASKS = 500;
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final long SAMPLE_MILLIS = 10;
+
+    @Test
+    void compareExecutorModes() {
+        Result threadPool = measure(false);
+        LOGGER.info(threadPool.toString());
+
+        if (!VirtualThreads.isSupported()) {
+            LOGGER.info("This JVM has no virtual threads (Java 21+ required), only the thread pool was measured");
+            return;
+        }
+        Result virtualThreads = measure(true);
+        LOGGER.info(virtualThreads.toString());
+        LOGGER.info(String.format("virtual threads / thread pool: throughput x%.2f, peak memory x%.2f",
+                virtualThreads.tasksPerSecond / threadPool.tasksPerSecond,
+                virtualThreads.peakMemoryBytes / threadPool.peakMemoryBytes));
+    }
+
+    /**
+     * Starts AsyncConfiguration in the given mode and runs a warmup batch and a measured batch on its executor
+     */
+    private Result measure(boolean virtualThreads) {
+        AtomicReference<Result> result = new AtomicReference<>();
+        new ApplicationContextRunner()
+                .withUserConfiguration(AsyncConfiguration.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("garageguide.virtual-threads.enabled=" + virtualThreads)
+                .run(context -> {
+                    MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                    new JvmMemoryMetrics().bindTo(meterRegistry);
+                    new JvmThreadMetrics().bindTo(meterRegistry);
+                    TaskExecutor executor = context.getBean(AsyncConfiguration.EXECUTOR_NAME, TaskExecutor.class);
+
+                    runBatch(executor, WARMUP_TASKS);
+                    System.gc();
+
+                    DoubleAccumulator peakMemory = new DoubleAccumulator(Math::max, 0);
+                    DoubleAccumulator peakThreads = new DoubleAccumulator(Math::max, 0);
+                    ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+                    sampler.scheduleAtFixedRate(() -> {
+                        peakMemory.accumulate(sum(meterRegistry, "jvm.memory.used"));
+                        peakThreads.accumulate(sum(meterRegistry, "jvm.threads.live"));
+                    }, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+
+                    long start = System.nanoTime();
+                    runBatch(executor, TASKS);
+                    long elapsedNanos = System.nanoTime() - start;
+                    sampler.shutdownNow();
+
+                    result.set(new Result(virtualThreads ? "virtual threads" : "thread pool",
+                            TASKS * 1e9 / elapsedNanos, peakMemory.get(), peakThreads.get()));
+                });
+        return result.get();
+    }
+
+    private static void runBatch(TaskExecutor executor, int tasks) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(tasks);
+        AtomicInteger completed = new AtomicInteger();
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                try {
+                    byte[] buffer = new byte[BUFFER_BYTES];
+                    Thread.sleep(TASK_MILLIS);
+                    if (buffer.length == BUFFER_BYTES) completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.MINUTES), "batch did not finish");
+        assertEquals(tasks, completed.get());
+    }
+
+    /**
+     * @return the sum of the gauges with the name over all their tags (heap and non heap areas etc.)
+     */
+    private static double sum(MeterRegistry meterRegistry, String name) {
+        return meterRegistry.find(name).gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private static class Result {
+        private final String mode;
+        private final double tasksPerSecond;
+        private final double peakMemoryBytes;
+        private final double peakLiveThreads;
+
+        Result(String mode, double tasksPerSecond, double peakMemoryBytes, double peakLiveThreads) {
+            this.mode = mode;
+            this.tasksPerSecond = tasksPerSecond;
+            this.peakMemoryBytes = peakMemoryBytes;
+            this.peakLiveThreads = peakLiveThreads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d tasks of %d ms, %.0f tasks/s, peak jvm.memory.used %.1f MB, " +
+                            "peak jvm.threads.live %.0f", mode, TASKS, TASK_MILLIS, tasksPerSecond,
+                    peakMemoryBytes / (1024 * 1024), peakLiveThreads);
+        }
+    }
+}
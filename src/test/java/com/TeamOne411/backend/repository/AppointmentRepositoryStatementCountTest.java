@@ -0,0 +1,149 @@
+package com.TeamOne411.backend.repository;
+
+import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.Vehicle;
+import com.TeamOne411.backend.entity.schedule.Appointment;
+import com.TeamOne411.backend.entity.users.CarOwner;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the appointment list queries behind the dashboards run the same number of statements for a quiet day
+ * and for a 500 appointment day. The migrations are MySQL specific, so the schema is generated by Hibernate on H2.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AppointmentRepositoryStatementCountTest {
+    private static final int CAR_OWNER_COUNT = 20;
+    private static final int QUIET_DAY_APPOINTMENTS = 5;
+    private static final int BUSY_DAY_APPOINTMENTS = 500;
+    // the appointment select with its entity graph, plus one batch select for the car owners' roles
+    private static final long MAX_STATEMENTS_PER_LIST = 2;
+
+    private static final LocalDate QUIET_DAY = LocalDate.of(2030, 1, 7);
+    private static final LocalDate BUSY_DAY = LocalDate.of(2030, 1, 8);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    private Statistics statistics;
+    private Garage garage;
+    private final List<Vehicle> vehicles = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        garage = new Garage();
+        garage.setCompanyName("Statement Count Garage");
+        garage.setPhoneNumber("555-555-0000");
+        garage.setAddress("1 Test Street");
+        entityManager.persist(garage);
+
+        for (int i = 0; i < CAR_OWNER_COUNT; i++) {
+            CarOwner carOwner = new CarOwner();
+            carOwner.setUsername("owner" + i);
+            carOwner.setPassword("password" + i);
+            carOwner.setFirstName("First" + i);
+            carOwner.setLastName("Last" + i);
+            carOwner.setEmail("owner" + i + "@example.com");
+            carOwner.setPhoneNumber(String.format("555-555-%04d", i + 1));
+            carOwner.setAddress(i + " Owner Street");
+            entityManager.persist(carOwner);
+
+            Vehicle vehicle = new Vehicle();
+            vehicle.setMake("Honda");
+            vehicle.setModel("Accord");
+            vehicle.setYear("2003");
+            vehicle.setVin("1HGCM82633A004352");
+            vehicle.setCarOwner(carOwner);
+            entityManager.persist(vehicle);
+            vehicles.add(vehicle);
+        }
+
+        book(QUIET_DAY, QUIET_DAY_APPOINTMENTS);
+        book(BUSY_DAY, BUSY_DAY_APPOINTMENTS);
+        entityManager.flush();
+    }
+
+    @Test
+    void garageDayListRunsAConstantNumberOfStatements() {
+        long quietDay = countStatements(QUIET_DAY_APPOINTMENTS, () -> appointmentRepository
+                .findAllByGarageAndAppointmentDateEqualsOrderByAppointmentTime(garage, QUIET_DAY));
+        long busyDay = countStatements(BUSY_DAY_APPOINTMENTS, () -> appointmentRepository
+                .findAllByGarageAndAppointmentDateEqualsOrderByAppointmentTime(garage, BUSY_DAY));
+
+        assertEquals(quietDay, busyDay);
+        assertTrue(busyDay <= MAX_STATEMENTS_PER_LIST, "statements for the busy day: " + busyDay);
+    }
+
+    @Test
+    void garageUpcomingPageRunsAConstantNumberOfStatements() {
+        long quietPage = countStatements(QUIET_DAY_APPOINTMENTS, () -> appointmentRepository
+                .findAllByGarageAndAppointmentDateGreaterThanOrderByAppointmentDateAscAppointmentTimeAscIdAsc(
+                        garage, QUIET_DAY.minusDays(1), PageRequest.of(0, QUIET_DAY_APPOINTMENTS)));
+        long busyPage = countStatements(BUSY_DAY_APPOINTMENTS, () -> appointmentRepository
+                .findAllByGarageAndAppointmentDateGreaterThanOrderByAppointmentDateAscAppointmentTimeAscIdAsc(
+                        garage, QUIET_DAY, PageRequest.of(0, BUSY_DAY_APPOINTMENTS)));
+
+        assertEquals(quietPage, busyPage);
+        assertTrue(busyPage <= MAX_STATEMENTS_PER_LIST, "statements for the busy page: " + busyPage);
+    }
+
+    private void book(LocalDate date, int count) {
+        for (int i = 0; i < count; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setGarage(garage);
+            appointment.setVehicle(vehicles.get(i % vehicles.size()));
+            appointment.setAppointmentDate(date);
+            appointment.setAppointmentTime(LocalTime.of(8, 0).plusMinutes(30L * (i % 20)));
+            appointment.setEstimatedDuration(Duration.ofMinutes(30));
+            appointment.setEstimatedTotalPrice(BigDecimal.TEN);
+            entityManager.persist(appointment);
+        }
+    }
+
+    /**
+     * Runs a list query against an empty persistence context and reads every column the dashboard grids show
+     *
+     * @return the number of statements prepared
+     */
+    private long countStatements(int expectedSize, Supplier<List<Appointment>> query) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<Appointment> appointments = query.get();
+        for (Appointment appointment : appointments) {
+            appointment.getGarage().getCompanyName();
+            appointment.getVehicle().getCarOwner().getFirstName();
+            appointment.getVehicle().getCarOwner().getPhoneNumber();
+        }
+
+        assertEquals(expectedSize, appointments.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,32 @@
+package com.TeamOne411.backend.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the SQL Hibernate prepares, so tests can EXPLAIN the statements the repositories actually run.
+ * Registered through the hibernate.session_factory.statement_inspector property.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    static void clear() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * @return the first statement recorded since the last clear
+     */
+    static String firstStatement() {
+        if (STATEMENTS.isEmpty()) throw new IllegalStateException("No statement was recorded");
+        return STATEMENTS.get(0);
+    }
+}
@@ -0,0 +1,248 @@
+package com.TeamOne411.backend.repository;
+
+import com.TeamOne411.backend.entity.Garage;
+import com.TeamOne411.backend.entity.users.CarOwner;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot repository queries against MySQL built by the Flyway migrations, and checks with EXPLAIN that each
+ * one reads through the index declared for it. The SQL explained is the SQL Hibernate generated for the repository
+ * method, recorded by the RecordingStatementInspector. Needs Docker, run it with the it profile.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.TeamOne411.backend.repository.RecordingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// ANALYZE TABLE commits, so the test data is written outside of a test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RepositoryIndexUsageIT {
+    private static final int GARAGE_COUNT = 20;
+    private static final int CAR_OWNER_COUNT = 200;
+    private static final int APPOINTMENT_DAYS = 10;
+    private static final int APPOINTMENTS_PER_DAY = 20;
+    private static final int CLOSED_DATES_PER_GARAGE = 10;
+    private static final int AVAILABILITY_DAYS = 60;
+
+    private static final long FIRST_GARAGE_ID = 1;
+    private static final long FIRST_USER_ID = 1001;
+    private static final long FIRST_VEHICLE_ID = 2001;
+    private static final long FIRST_BUSINESS_HOURS_ID = 3001;
+    private static final long FIRST_CLOSED_DATE_ID = 4001;
+    private static final long FIRST_DAY_AVAILABILITY_ID = 5001;
+    private static final long FIRST_APPOINTMENT_ID = 10001;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    private static final long GARAGE_ID = FIRST_GARAGE_ID + 3;
+    private static final long CAR_OWNER_ID = FIRST_USER_ID + 42;
+    private static final LocalDate DAY = FIRST_DAY.plusDays(4);
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @DynamicPropertySource
+    static void mysqlProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private BusinessHoursRepository businessHoursRepository;
+    @Autowired
+    private CarOwnerRepository carOwnerRepository;
+    @Autowired
+    private ClosedDateRepository closedDateRepository;
+    @Autowired
+    private DayAvailabilityRepository dayAvailabilityRepository;
+    @Autowired
+    private GarageRepository garageRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Garage garage;
+    private CarOwner carOwner;
+
+    @BeforeAll
+    void insertTestData() {
+        List<Object[]> garages = new ArrayList<>();
+        List<Object[]> businessHours = new ArrayList<>();
+        List<Object[]> closedDates = new ArrayList<>();
+        List<Object[]> days = new ArrayList<>();
+        for (int g = 0; g < GARAGE_COUNT; g++) {
+            long garageId = FIRST_GARAGE_ID + g;
+            garages.add(new Object[]{garageId, "Garage " + g, String.format("555-555-%04d", g), g + " Garage Street"});
+            for (int day = 1; day <= 7; day++) {
+                businessHours.add(new Object[]{FIRST_BUSINESS_HOURS_ID + g * 7 + day - 1, "Day " + day, day, true,
+                        Time.valueOf(LocalTime.of(8, 0)), Time.valueOf(LocalTime.of(17, 0)), garageId});
+            }
+            for (int c = 0; c < CLOSED_DATES_PER_GARAGE; c++) {
+                closedDates.add(new Object[]{FIRST_CLOSED_DATE_ID + g * CLOSED_DATES_PER_GARAGE + c, garageId,
+                        Date.valueOf(FIRST_DAY.plusWeeks(c))});
+            }
+            for (int d = 0; d < AVAILABILITY_DAYS; d++) {
+                days.add(new Object[]{FIRST_DAY_AVAILABILITY_ID + g * AVAILABILITY_DAYS + d, garageId,
+                        Date.valueOf(FIRST_DAY.plusDays(d)), Time.valueOf(LocalTime.of(8, 0)), 0x3FFFFL, (long) d});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO garage (id, company_name, phone_number, address) VALUES (?, ?, ?, ?)",
+                garages);
+        jdbcTemplate.batchUpdate("INSERT INTO business_hours (id, day_of_the_week, day_number, is_open, open_time, " +
+                "close_time, garage_id) VALUES (?, ?, ?, ?, ?, ?, ?)", businessHours);
+        jdbcTemplate.batchUpdate("INSERT INTO closed_date (id, garage_id, not_open_date) VALUES (?, ?, ?)",
+                closedDates);
+        jdbcTemplate.batchUpdate("INSERT INTO day_availability (id, garage_id, availability_date, first_slot_time, " +
+                "open_slots, filled_slots) VALUES (?, ?, ?, ?, ?, ?)", days);
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> carOwners = new ArrayList<>();
+        List<Object[]> vehicles = new ArrayList<>();
+        for (int o = 0; o < CAR_OWNER_COUNT; o++) {
+            long userId = FIRST_USER_ID + o;
+            users.add(new Object[]{"CarOwner", userId, "owner" + o, "password" + o, true, "First" + o, "Last" + o,
+                    "owner" + o + "@example.com"});
+            carOwners.add(new Object[]{userId, String.format("555-666-%04d", o), o + " Owner Street"});
+            vehicles.add(new Object[]{FIRST_VEHICLE_ID + o, "Honda", "Accord", "2003", "1HGCM82633A004352", userId});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO user (discriminator, id, username, password, is_enabled, first_name, " +
+                "last_name, email) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO car_owner (id, phone_number, address) VALUES (?, ?, ?)", carOwners);
+        jdbcTemplate.batchUpdate("INSERT INTO vehicle (id, make, model, year, vin, car_owner_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", vehicles);
+
+        List<Object[]> appointments = new ArrayList<>();
+        long appointmentId = FIRST_APPOINTMENT_ID;
+        for (int g = 0; g < GARAGE_COUNT; g++) {
+            for (int d = 0; d < APPOINTMENT_DAYS; d++) {
+                for (int a = 0; a < APPOINTMENTS_PER_DAY; a++) {
+                    long vehicleId = FIRST_VEHICLE_ID + (appointmentId % CAR_OWNER_COUNT);
+                    appointments.add(new Object[]{appointmentId++, FIRST_GARAGE_ID + g, vehicleId,
+                            Date.valueOf(FIRST_DAY.plusDays(d)), Time.valueOf(LocalTime.of(8, 0).plusMinutes(30L * a)),
+                            1800000000000L, BigDecimal.TEN, "Not Started"});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO appointment (id, garage_id, vehicle_id, appointment_date, " +
+                "appointment_time, estimated_duration, estimated_total_price, status) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", appointments);
+
+        for (String table : Arrays.asList("garage", "business_hours", "closed_date", "day_availability", "user",
+                "car_owner", "vehicle", "appointment")) {
+            jdbcTemplate.execute("ANALYZE TABLE " + table);
+        }
+
+        garage = garageRepository.getOne(GARAGE_ID);
+        carOwner = carOwnerRepository.getOne(CAR_OWNER_ID);
+    }
+
+    @Test
+    void garageAppointmentListsUseGarageDateTimeIndex() {
+        String index = "idx_appointment_garage_date_time";
+        assertUsesIndex(index, () -> appointmentRepository
+                        .findAllByGarageAndAppointmentDateEqualsOrderByAppointmentTime(garage, DAY),
+                GARAGE_ID, Date.valueOf(DAY));
+        assertUsesIndex(index, () -> appointmentRepository
+                        .findAllByGarageAndAppointmentDateGreaterThanOrderByAppointmentDateAscAppointmentTimeAsc(garage, DAY),
+                GARAGE_ID, Date.valueOf(DAY));
+        assertUsesIndex(index, () -> appointmentRepository
+                        .findAllByGarageAndAppointmentDateGreaterThanOrderByAppointmentDateAscAppointmentTimeAscIdAsc(
+                                garage, DAY, PageRequest.of(0, 25)),
+                GARAGE_ID, Date.valueOf(DAY), 25);
+        assertUsesIndex(index, () -> appointmentRepository.countByGarageAndAppointmentDateGreaterThan(garage, DAY),
+                GARAGE_ID, Date.valueOf(DAY));
+    }
+
+    @Test
+    void carOwnerAppointmentListsUseVehicleDateIndex() {
+        String index = "idx_appointment_vehicle_date";
+        assertUsesIndex(index, () -> appointmentRepository
+                        .findAllByAppointmentDateEqualsAndVehicle_CarOwnerOrderByAppointmentTime(DAY, carOwner),
+                Date.valueOf(DAY), CAR_OWNER_ID);
+        assertUsesIndex(index, () -> appointmentRepository
+                        .findAllByAppointmentDateGreaterThanAndVehicle_CarOwnerOrderByAppointmentDateAscAppointmentTimeAsc(
+                                DAY, carOwner),
+                Date.valueOf(DAY), CAR_OWNER_ID);
+        assertUsesIndex(index, () -> appointmentRepository
+                        .findAllByAppointmentDateGreaterThanEqualAndVehicle_CarOwnerOrderByAppointmentDateAscAppointmentTimeAsc(
+                                DAY, carOwner),
+                Date.valueOf(DAY), CAR_OWNER_ID);
+    }
+
+    @Test
+    void userLookupsUseTheirIndexes() {
+        assertUsesIndex("idx_user_username", () -> userRepository.findByUsername("owner42"), "owner42");
+        assertUsesIndex("idx_user_email", () -> userRepository.findByEmail("owner42@example.com"),
+                "owner42@example.com");
+        assertUsesIndex("idx_car_owner_phone_number", () -> carOwnerRepository.findByPhoneNumber("555-666-0042"),
+                "555-666-0042");
+    }
+
+    @Test
+    void scheduleLookupsUseGarageUniqueKeys() {
+        assertUsesIndex("uk_business_hours_garage_day", () -> businessHoursRepository
+                .findByDayNumberAndGarage(3, garage), 3, GARAGE_ID);
+        assertUsesIndex("uk_closed_date_garage_date", () -> closedDateRepository
+                        .findClosedDateByGarageAndNotOpenDateEquals(garage, FIRST_DAY.plusWeeks(2)),
+                GARAGE_ID, Date.valueOf(FIRST_DAY.plusWeeks(2)));
+    }
+
+    @Test
+    void dayAvailabilityLookupsUseTheirIndexes() {
+        String index = "uk_day_availability_garage_date";
+        assertUsesIndex(index, () -> dayAvailabilityRepository.findByGarageAndAvailabilityDate(garage, DAY),
+                GARAGE_ID, Date.valueOf(DAY));
+        assertUsesIndex(index, () -> dayAvailabilityRepository
+                        .findByGarageAndAvailabilityDateIn(garage, Arrays.asList(DAY, DAY.plusDays(1))),
+                GARAGE_ID, Date.valueOf(DAY), Date.valueOf(DAY.plusDays(1)));
+        assertUsesIndex(index, () -> dayAvailabilityRepository
+                        .findAvailableDatesByGarageAndAvailabilityDateGreaterThanEqual(garage, FIRST_DAY.plusDays(50)),
+                GARAGE_ID, Date.valueOf(FIRST_DAY.plusDays(50)));
+        assertUsesIndex("idx_day_availability_date", () -> dayAvailabilityRepository
+                        .findFreeDaysBetween(DAY, DAY.plusDays(2)),
+                Date.valueOf(DAY), Date.valueOf(DAY.plusDays(2)));
+    }
+
+    /**
+     * Runs a repository query and EXPLAINs the SQL it prepared with the given parameter values
+     */
+    private void assertUsesIndex(String index, Runnable query, Object... parameters) {
+        RecordingStatementInspector.clear();
+        query.run();
+        String sql = RecordingStatementInspector.firstStatement();
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, parameters);
+        assertTrue(plan.stream().anyMatch(row -> index.equals(row.get("key"))),
+                () -> index + " is not used by " + sql + System.lineSeparator() + plan);
+    }
+}